@@ -0,0 +1,63 @@
+package com.get.referred.referralplatform.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code company_key} and {@code pending_key} for rows written before those columns existed.
+ *
+ * The schema is managed by {@code ddl-auto=update}, which adds the columns but cannot populate them,
+ * so this runs once per startup and is a no-op once every row has been migrated.
+ * Rows are updated in small batches to keep lock times short on large tables.
+ */
+@Component
+@ConditionalOnProperty(name = "company-key.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class CompanyKeyBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(CompanyKeyBackfill.class);
+    private static final String[] TABLES = {"referral_requests", "users"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public CompanyKeyBackfill(JdbcTemplate jdbcTemplate,
+                              @Value("${company-key.backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            // Must match CompanyKey.of: trimmed of spaces only, lower-cased, names of only spaces stay null
+            backfill("company_key", table, "UPDATE " + table + " SET company_key = LOWER(TRIM(company_name))"
+                + " WHERE company_key IS NULL AND company_name IS NOT NULL AND TRIM(company_name) <> ''");
+        }
+        // Legacy data may hold several PENDING requests per job seeker and company; only the oldest one
+        // of each group gets a pending_key, and only if no row in that group holds one yet, so the
+        // uk_referral_job_seeker_pending constraint cannot be violated. The derived table lets MySQL
+        // read the table it is updating.
+        backfill("pending_key", "referral_requests", "UPDATE referral_requests SET pending_key = company_key"
+            + " WHERE id IN (SELECT first_pending.id FROM ("
+            + "SELECT MIN(id) AS id FROM referral_requests"
+            + " WHERE status = 'PENDING' AND company_key IS NOT NULL"
+            + " GROUP BY job_seeker_id, company_key HAVING COUNT(pending_key) = 0) first_pending)");
+    }
+
+    private void backfill(String column, String table, String update) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(update + " LIMIT " + batchSize);
+            total += updated;
+        } while (updated == batchSize);
+        if (total > 0) {
+            logger.info("Backfilled {} for {} rows in {}", column, total, table);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +14,7 @@ import com.google.firebase.FirebaseOptions;
 import com.google.firebase.auth.FirebaseAuth;
 
 @Configuration
+@ConditionalOnProperty(name = "auth.token-verifier", havingValue = "firebase", matchIfMissing = true)
 public class FirebaseConfig {
 
     @Value("${GOOGLE_APPLICATION_CREDENTIALS}")
@@ -0,0 +1,83 @@
+package com.get.referred.referralplatform.config;
+
+import java.util.Map;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves the id sequences past the ids already in their tables.
+ *
+ * Ids used to come from auto-increment columns, which keep working for existing rows but rule out
+ * JDBC batching: Hibernate has to insert each row on its own to learn its id. The entities now draw
+ * ids from pooled sequences (emulated with a one-row table on MySQL), which {@code ddl-auto=update}
+ * creates starting at 1, so they have to be advanced before the first insert. This runs before the
+ * web server starts accepting requests, and only ever moves a sequence forward.
+ */
+@Component
+public class IdSequenceSeeder implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceSeeder.class);
+    // Must match allocationSize on the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> TABLES_BY_SEQUENCE = Map.of(
+        User.ID_SEQUENCE, "users",
+        ReferralRequest.ID_SEQUENCE, "referral_requests",
+        EmailOutbox.ID_SEQUENCE, "email_outbox");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        seed();
+    }
+
+    /**
+     * Advances every id sequence so the next block it hands out starts above the highest id in its table.
+     * Safe to call again after rows were inserted with explicit ids.
+     */
+    public void seed() {
+        TABLES_BY_SEQUENCE.forEach(this::seed);
+    }
+
+    private void seed(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer treats the value it reads as the top of a block of ALLOCATION_SIZE ids
+        long required = maxId + ALLOCATION_SIZE;
+        SequenceSupport sequenceSupport = dialect.getSequenceSupport();
+        boolean advanced;
+        if (sequenceSupport.supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(sequence), Long.class);
+            advanced = next != null && next < required;
+            if (advanced) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+            }
+        } else {
+            advanced = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?",
+                required, required) > 0;
+        }
+        if (advanced) {
+            logger.info("Advanced {} to {} past the existing ids in {}", sequence, required, table);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.get.referred.referralplatform.config;
+
+import java.util.Collection;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.get.referred.referralplatform.dto.ApiResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records the number of items returned by list endpoints in {@code api.list.size},
+ * tagged with the endpoint's URI pattern and whether the response was successful.
+ */
+@RestControllerAdvice
+public class ListResponseMetricsAdvice implements ResponseBodyAdvice<Object> {
+    private final MeterRegistry meterRegistry;
+
+    public ListResponseMetricsAdvice(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponse<?> apiResponse && apiResponse.getData() instanceof Collection<?> items
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            Object pattern = servletRequest.getServletRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("api.list.size")
+                .description("Number of items returned by list endpoints")
+                .baseUnit("items")
+                .tag("endpoint", pattern != null ? pattern.toString() : "UNKNOWN")
+                .tag("outcome", apiResponse.isSuccess() ? "success" : "failure")
+                .register(meterRegistry)
+                .record(items.size());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package com.get.referred.referralplatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+
+/**
+ * Turns the {@code cursor}, {@code size} and {@code unpaged} request parameters of list endpoints
+ * into a {@link PageQuery}, applying the configured default and maximum page sizes.
+ */
+@Component
+public class PaginationSettings {
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final boolean unpagedEnabled;
+
+    public PaginationSettings(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                              @Value("${pagination.max-page-size:200}") int maxPageSize,
+                              @Value("${pagination.unpaged-enabled:false}") boolean unpagedEnabled) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.unpagedEnabled = unpagedEnabled;
+    }
+
+    public PageQuery resolve(String cursor, Integer size, boolean unpaged) {
+        if (unpaged) {
+            if (!unpagedEnabled) {
+                throw new IllegalArgumentException("Unpaged listing is disabled");
+            }
+            return new PageQuery(null, Integer.MAX_VALUE, true);
+        }
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
+        PageCursor after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        return new PageQuery(after, pageSize, false);
+    }
+}
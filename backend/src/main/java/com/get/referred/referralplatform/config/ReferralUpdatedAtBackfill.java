@@ -0,0 +1,43 @@
+package com.get.referred.referralplatform.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps {@code updated_at} on referral requests created before it was set on creation, so delta sync,
+ * which follows {@code updated_at} alone, sees them. A no-op once every row has a value.
+ */
+@Component
+@ConditionalOnProperty(name = "referrals.changes.backfill-enabled", havingValue = "true", matchIfMissing = true)
+public class ReferralUpdatedAtBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralUpdatedAtBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ReferralUpdatedAtBackfill(JdbcTemplate jdbcTemplate,
+                                     @Value("${referrals.changes.backfill-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update("UPDATE referral_requests SET updated_at = created_at"
+                + " WHERE updated_at IS NULL LIMIT " + batchSize);
+            total += updated;
+        } while (updated == batchSize);
+        if (total > 0) {
+            logger.info("Backfilled updated_at for {} referral requests", total);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.get.referred.referralplatform.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, e.g. while blocking inside a
+ * {@code synchronized} block or native frame, which silently caps throughput in virtual-thread mode.
+ *
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process, counts occurrences in
+ * {@code jvm.threads.virtual.pinned} and logs the top stack frames of each one.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads pinned to their carrier for longer than the threshold")
+            .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (logger.isWarnEnabled()) {
+            StringBuilder frames = new StringBuilder();
+            if (event.getStackTrace() != null) {
+                event.getStackTrace().getFrames().stream().limit(LOGGED_FRAMES).map(RecordedFrame::getMethod)
+                    .forEach(method -> frames.append("\n\tat ").append(method.getType().getName())
+                        .append('.').append(method.getName()));
+            }
+            logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -9,10 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.Map;
 
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 import org.springframework.http.HttpStatus;
-import com.google.firebase.auth.FirebaseAuth;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.get.referred.referralplatform.dto.UserDTO;
@@ -24,19 +21,21 @@ import com.get.referred.referralplatform.dto.ApiResponse;
  * Endpoints:
  * POST /api/auth/google - Google Sign In/Sign Up
  * POST /api/auth/email - Email/Password Sign In/Sign Up
+ *
+ * When session tokens are enabled, a successful sign in also returns a short-lived
+ * session token in the X-Session-Token header that can be used as the Bearer token.
  */
 @RestController
 @RequestMapping("/api")
 public class AuthController {
     private final AuthService authService;
     private final UserService userService;
-    private final FirebaseAuth firebaseAuth;
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+    public static final String SESSION_TOKEN_HEADER = "X-Session-Token";
 
-    public AuthController(AuthService authService, UserService userService, FirebaseAuth firebaseAuth) {
+    public AuthController(AuthService authService, UserService userService) {
         this.authService = authService;
         this.userService = userService;
-        this.firebaseAuth = firebaseAuth;
     }
 
     @PostMapping("/auth/google")
@@ -52,8 +51,7 @@ public class AuthController {
                 return ResponseEntity.status(403)
                     .body(new ApiResponse<>(false, (String) response.get("message"), null));
             }
-            UserDTO userDTO = (UserDTO) response.get("user");
-            return ResponseEntity.ok(new ApiResponse<>(true, "Authentication successful", userDTO));
+            return authenticated(response);
         } catch (Exception e) {
             return ResponseEntity.status(401)
                 .body(new ApiResponse<>(false, "Authentication failed: " + e.getMessage(), null));
@@ -73,11 +71,20 @@ public class AuthController {
                 return ResponseEntity.status(403)
                     .body(new ApiResponse<>(false, (String) response.get("message"), null));
             }
-            UserDTO userDTO = (UserDTO) response.get("user");
-            return ResponseEntity.ok(new ApiResponse<>(true, "Authentication successful", userDTO));
+            return authenticated(response);
         } catch (Exception e) {
             return ResponseEntity.status(401)
                 .body(new ApiResponse<>(false, "Authentication failed: " + e.getMessage(), null));
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<ApiResponse<UserDTO>> authenticated(Map<String, Object> response) {
+        UserDTO userDTO = (UserDTO) response.get("user");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        Object sessionToken = response.get("sessionToken");
+        if (sessionToken != null) {
+            builder.header(SESSION_TOKEN_HEADER, sessionToken.toString());
+        }
+        return builder.body(new ApiResponse<>(true, "Authentication successful", userDTO));
+    }
+}
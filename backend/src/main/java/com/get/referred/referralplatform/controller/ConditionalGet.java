@@ -0,0 +1,45 @@
+package com.get.referred.referralplatform.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET support for endpoints the dashboard polls.
+ *
+ * The weak ETag is a digest of a cheap version query (plus whatever else selects the response, such as
+ * the caller and the page parameters) rather than of the body, so a matching {@code If-None-Match} is
+ * answered with 304 before any entity is loaded or DTO built. Responses are sent with
+ * {@code Cache-Control: no-cache, private}: browsers may keep them but revalidate on every use, which
+ * makes the next poll a conditional request without any change on the client.
+ */
+final class ConditionalGet {
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    static String weakETag(Object... parts) {
+        String source = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Sets the ETag and cache headers and reports whether the client's copy is current, in which case
+     * the response is already a 304 and the handler should return null.
+     */
+    static boolean notModified(ServletWebRequest request, Object... versionParts) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(weakETag(versionParts));
+    }
+}
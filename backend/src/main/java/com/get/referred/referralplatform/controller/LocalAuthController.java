@@ -0,0 +1,43 @@
+package com.get.referred.referralplatform.controller;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.get.referred.referralplatform.dto.ApiResponse;
+import com.get.referred.referralplatform.security.LocalTokenVerifier;
+
+/**
+ * Issues tokens for the local token verifier. Only registered when {@code auth.token-verifier=local}.
+ *
+ * Endpoints:
+ * POST /api/auth/local/token - Mint a Firebase-shaped ID token for load testing
+ */
+@RestController
+@RequestMapping("/api/auth/local")
+@ConditionalOnProperty(name = "auth.token-verifier", havingValue = "local")
+public class LocalAuthController {
+    private final LocalTokenVerifier localTokenVerifier;
+
+    public LocalAuthController(LocalTokenVerifier localTokenVerifier) {
+        this.localTokenVerifier = localTokenVerifier;
+    }
+
+    @PostMapping("/token")
+    public ResponseEntity<ApiResponse<String>> issueToken(@RequestBody Map<String, String> request) {
+        String uid = request.get("uid");
+        if (uid == null || uid.isBlank()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "uid is required", null));
+        }
+        String email = request.getOrDefault("email", uid + "@example.com");
+        boolean emailVerified = Boolean.parseBoolean(request.getOrDefault("emailVerified", "true"));
+        String signInProvider = request.getOrDefault("signInProvider", "google.com");
+        String idToken = localTokenVerifier.issue(uid, email, emailVerified, signInProvider);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Token issued", idToken));
+    }
+}
@@ -1,42 +1,98 @@
 package com.get.referred.referralplatform.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.get.referred.referralplatform.config.PaginationSettings;
+import com.get.referred.referralplatform.model.CompanyKey;
 import com.get.referred.referralplatform.model.ReferralRequest;
 import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.security.AuthenticatedUser;
+import com.get.referred.referralplatform.service.ReferralBatchService;
+import com.get.referred.referralplatform.service.ReferralChangesService;
+import com.get.referred.referralplatform.service.ReferralEventHub;
+import com.get.referred.referralplatform.service.ReferralImportRows;
+import com.get.referred.referralplatform.service.ReferralImportService;
 import com.get.referred.referralplatform.service.ReferralRequestService;
+import com.get.referred.referralplatform.service.UnclaimedReferralIndex;
+import com.get.referred.referralplatform.service.UserService;
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.PageQuery;
 import com.get.referred.referralplatform.dto.ReferralRequestDTO;
 import com.get.referred.referralplatform.dto.ApiResponse;
-import com.get.referred.referralplatform.service.UserService;
+import com.get.referred.referralplatform.dto.ReferralBatchRequest;
+import com.get.referred.referralplatform.dto.ReferralBatchResult;
+import com.get.referred.referralplatform.dto.ReferralChanges;
+import com.get.referred.referralplatform.dto.ReferralImportResult;
+import com.get.referred.referralplatform.exception.ConflictException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/referrals")
 public class ReferralRequestController {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralRequestController.class);
+
     private final ReferralRequestService referralRequestService;
+    private final ReferralImportService referralImportService;
+    private final ReferralBatchService referralBatchService;
+    private final ReferralChangesService referralChangesService;
+    private final ReferralEventHub referralEventHub;
+    private final UnclaimedReferralIndex unclaimedReferralIndex;
     private final UserService userService;
+    private final PaginationSettings paginationSettings;
+    private final ObjectMapper objectMapper;
 
-    public ReferralRequestController(ReferralRequestService referralRequestService, UserService userService) {
+    public ReferralRequestController(ReferralRequestService referralRequestService,
+                                     ReferralImportService referralImportService,
+                                     ReferralBatchService referralBatchService,
+                                     ReferralChangesService referralChangesService,
+                                     ReferralEventHub referralEventHub,
+                                     UnclaimedReferralIndex unclaimedReferralIndex, UserService userService,
+                                     PaginationSettings paginationSettings, ObjectMapper objectMapper) {
         this.referralRequestService = referralRequestService;
+        this.referralImportService = referralImportService;
+        this.referralBatchService = referralBatchService;
+        this.referralChangesService = referralChangesService;
+        this.referralEventHub = referralEventHub;
+        this.unclaimedReferralIndex = unclaimedReferralIndex;
         this.userService = userService;
+        this.paginationSettings = paginationSettings;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<ReferralRequestDTO>> createReferralRequest(@Valid @RequestBody ReferralRequestDTO requestDto, @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ApiResponse<ReferralRequestDTO>> createReferralRequest(@Valid @RequestBody ReferralRequestDTO requestDto, @AuthenticationPrincipal AuthenticatedUser jobSeeker) {
         if (requestDto.getJobTitle() == null || requestDto.getJobTitle().isBlank()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, "Job title is required", null));
         }
@@ -49,16 +105,56 @@ public class ReferralRequestController {
         request.setResumeLink(requestDto.getResumeLink());
         request.setLinkedinUrl(requestDto.getLinkedinLink());
         // Set jobSeeker from the authenticated user
-        String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-        User jobSeeker = userService.findByFirebaseUid(firebaseUid).orElse(null);
         if (jobSeeker == null) {
             return ResponseEntity.status(401).body(new ApiResponse<>(false, "User not found", null));
         }
-        request.setJobSeeker(jobSeeker);
+        request.setJobSeeker(userService.getReferenceById(jobSeeker.getId()));
         ReferralRequest created = referralRequestService.createReferralRequest(request);
         return ResponseEntity.ok(new ApiResponse<>(true, "Referral request created successfully", ReferralRequestDTO.fromEntity(created)));
     }
 
+    /**
+     * Creates many pending requests for the caller from a CSV (with header row) or NDJSON body, which
+     * is read as it arrives. Responds with one NDJSON result per row, streamed a batch at a time; a
+     * bad CSV header or content type is rejected with 400 before anything is imported.
+     */
+    @PostMapping(value = "/bulk", consumes = {ReferralImportService.CSV, ReferralImportService.NDJSON})
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public void importReferralRequests(@AuthenticationPrincipal AuthenticatedUser jobSeeker,
+                                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader body = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+        ReferralImportRows rows = referralImportService.openRows(body, contentType);
+
+        response.setContentType(ReferralImportService.NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+        try {
+            referralImportService.importRows(userService.getReferenceById(jobSeeker.getId()), rows,
+                results -> writeResults(out, results));
+        } catch (UncheckedIOException e) {
+            // The client went away; nothing left to report to
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // Earlier batches are committed and reported already, so the status cannot change any more
+            logger.warn("Referral import for user {} stopped: {}", jobSeeker.getId(), e.getMessage());
+            writeResults(out, List.of(ReferralImportResult.error(e.getMessage())));
+        }
+    }
+
+    private void writeResults(Writer out, List<ReferralImportResult> results) {
+        try {
+            for (ReferralImportResult result : results) {
+                out.write(objectMapper.writeValueAsString(result));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @referralRequestService.isUserInvolved(#id, authentication.principal.id)")
     public ResponseEntity<ApiResponse<ReferralRequestDTO>> getReferralRequest(@PathVariable Long id) {
@@ -69,16 +165,55 @@ public class ReferralRequestController {
 
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getMyReferralRequests(@RequestHeader("Authorization") String authHeader) {
-        String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-        List<ReferralRequestDTO> dtos = referralRequestService.toDTOList(referralRequestService.getReferralRequestsByJobSeekerFirebaseUid(firebaseUid));
-        return ResponseEntity.ok(new ApiResponse<>(true, "My referral requests fetched", dtos));
+    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getMyReferralRequests(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+            ServletWebRequest webRequest) {
+        PageQuery pageQuery = paginationSettings.resolve(cursor, size, unpaged);
+        if (ConditionalGet.notModified(webRequest, "referrals/me", user.getId(), pageQuery,
+                referralRequestService.getVersionByJobSeeker(user.getId()))) {
+            return null;
+        }
+        CursorPage<ReferralRequestDTO> page = referralRequestService.getReferralRequestsByJobSeeker(user.getId(), pageQuery);
+        return ResponseEntity.ok(new ApiResponse<>(true, "My referral requests fetched", page.items(), page.nextCursor()));
+    }
+
+    /**
+     * Delta sync over everything the caller sees in /me, /received and /filter: requests created or
+     * updated after {@code since}, plus ids of deleted ones. Without {@code since} it starts from the beginning.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReferralChanges>> getReferralChanges(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "size", required = false) Integer size) {
+        ReferralChanges changes = referralChangesService.changesSince(
+            user.getId(), user.getCompanyName(), paginationSettings.resolve(since, size, false));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Referral changes fetched", changes));
+    }
+
+    /**
+     * Server-Sent Events stream of create, claim and status changes for the caller's company, replacing
+     * polling of /received. Events named DROPPED report how many were lost to a slow connection; the client
+     * should then catch up through /changes, as it should after reconnecting.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal)")
+    public SseEmitter streamReferralEvents(@AuthenticationPrincipal AuthenticatedUser user) {
+        return referralEventHub.subscribe(user.getCompanyName());
     }
 
     @GetMapping("/received")
-    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getReceivedReferralRequests(@RequestHeader("Authorization") String authHeader) {
-        String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-        User user = userService.findByFirebaseUid(firebaseUid).orElse(null);
+    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getReceivedReferralRequests(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+            @RequestParam(value = "unclaimed", defaultValue = "false") boolean unclaimed,
+            ServletWebRequest webRequest) {
         if (user == null) {
             return ResponseEntity.status(404).body(new ApiResponse<>(false, "User not found", null));
         }
@@ -86,12 +221,22 @@ public class ReferralRequestController {
         if (companyName == null || companyName.trim().isEmpty()) {
             return ResponseEntity.ok(new ApiResponse<>(true, "Please set your company name to view provider referrals.", List.of()));
         }
-        List<ReferralRequestDTO> dtos = referralRequestService.toDTOList(referralRequestService.getReferralRequestsByCompanyName(companyName));
-        return ResponseEntity.ok(new ApiResponse<>(true, "Received referral requests fetched", dtos));
+        PageQuery pageQuery = paginationSettings.resolve(cursor, size, unpaged);
+        if (unclaimed) {
+            // Served from memory, which is cheaper than the version query behind the ETag
+            CursorPage<ReferralRequestDTO> page = unclaimedReferralIndex.getUnclaimedReferralRequests(companyName, pageQuery);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Unclaimed referral requests fetched", page.items(), page.nextCursor()));
+        }
+        if (ConditionalGet.notModified(webRequest, "referrals/received", companyName, pageQuery,
+                referralRequestService.getVersionByCompanyName(companyName))) {
+            return null;
+        }
+        CursorPage<ReferralRequestDTO> page = referralRequestService.getReferralRequestsByCompanyName(companyName, pageQuery);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Received referral requests fetched", page.items(), page.nextCursor()));
     }
 
     @PutMapping("/{id}/status")
-    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal.id) and @referralRequestService.isEmployee(#id, authentication.principal.id)")
+    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal) and @referralRequestService.isEmployee(#id, authentication.principal.id)")
     public ResponseEntity<ApiResponse<ReferralRequestDTO>> updateReferralRequestStatus(
             @PathVariable Long id,
             @RequestBody ReferralRequest.Status newStatus) {
@@ -103,6 +248,52 @@ public class ReferralRequestController {
         }
     }
 
+    @PutMapping("/{id}/accept")
+    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal)")
+    public ResponseEntity<ApiResponse<ReferralRequestDTO>> acceptReferralRequest(
+            @PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser employee) {
+        try {
+            ReferralRequest request = referralRequestService.acceptReferralRequest(id, userService.getReferenceById(employee.getId()),
+                CompanyKey.of(employee.getCompanyName()), employee.getRole() == User.UserRole.ADMIN);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Referral request accepted", ReferralRequestDTO.fromEntity(request)));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(409).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN') or @referralRequestService.isJobSeeker(#id, authentication.principal.id)")
+    public ResponseEntity<ApiResponse<Void>> withdrawReferralRequest(@PathVariable Long id) {
+        try {
+            referralRequestService.withdrawReferralRequest(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Referral request withdrawn", null));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(409).body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * Claims (ACCEPTED) or moves many referral requests at once; ownership and transition rules are
+     * checked by the update itself, so ids the caller may not move come back as CONFLICT, and ids of
+     * other companies' requests as NOT_FOUND.
+     */
+    @PutMapping("/batch/status")
+    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal)")
+    public ResponseEntity<ApiResponse<List<ReferralBatchResult>>> transitionReferralRequests(
+            @RequestBody ReferralBatchRequest batchRequest,
+            @AuthenticationPrincipal AuthenticatedUser employee) {
+        List<ReferralBatchResult> results = referralBatchService.transition(batchRequest.ids(), batchRequest.status(),
+            userService.getReferenceById(employee.getId()), CompanyKey.of(employee.getCompanyName()),
+            employee.getRole() == User.UserRole.ADMIN);
+        long updated = results.stream().filter(result -> result.outcome() == ReferralBatchResult.Outcome.UPDATED).count();
+        return ResponseEntity.ok(new ApiResponse<>(true, updated + " of " + results.size() + " referral requests updated", results));
+    }
+
     @PutMapping("/{id}/rating")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<ReferralRequestDTO>> addRating(
@@ -116,27 +307,42 @@ public class ReferralRequestController {
         }
     }
 
+    /**
+     * Pending requests across every company, including the job seekers' contact details, so admins only.
+     * Employees list their own company's requests through /received.
+     */
     @GetMapping("/pending")
-    @PreAuthorize("@userService.hasEmployeeAccess(authentication.principal.id)")
-    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getPendingReferralRequests() {
-        List<ReferralRequestDTO> dtos = referralRequestService.toDTOList(referralRequestService.getPendingReferralRequests());
-        return ResponseEntity.ok(new ApiResponse<>(true, "Pending referral requests fetched", dtos));
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getPendingReferralRequests(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged) {
+        CursorPage<ReferralRequestDTO> page = referralRequestService.getPendingReferralRequests(
+            paginationSettings.resolve(cursor, size, unpaged));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Pending referral requests fetched", page.items(), page.nextCursor()));
     }
 
     @GetMapping("/hired")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getHiredReferralRequests(@RequestHeader("Authorization") String authHeader) {
-        String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-        List<ReferralRequestDTO> dtos = referralRequestService.filterReferralRequestsByStatusAndUser(firebaseUid, "HIRED");
-        return ResponseEntity.ok(new ApiResponse<>(true, "Hired referral requests fetched", dtos));
+    public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> getHiredReferralRequests(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged) {
+        CursorPage<ReferralRequestDTO> page = referralRequestService.filterReferralRequestsByStatusAndUser(
+            user.getId(), "HIRED", paginationSettings.resolve(cursor, size, unpaged));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Hired referral requests fetched", page.items(), page.nextCursor()));
     }
 
     @GetMapping("/filter")
     public ResponseEntity<ApiResponse<List<ReferralRequestDTO>>> filterReferralRequests(
-            @RequestHeader("Authorization") String authHeader,
-            @RequestParam("status") String status) {
-        String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-        List<ReferralRequestDTO> dtos = referralRequestService.filterReferralRequestsByStatusAndUser(firebaseUid, status);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Filtered referral requests fetched", dtos));
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam("status") String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged) {
+        CursorPage<ReferralRequestDTO> page = referralRequestService.filterReferralRequestsByStatusAndUser(
+            user.getId(), status, paginationSettings.resolve(cursor, size, unpaged));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Filtered referral requests fetched", page.items(), page.nextCursor()));
     }
 }
\ No newline at end of file
@@ -10,16 +10,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.get.referred.referralplatform.config.PaginationSettings;
 import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.security.AuthenticatedUser;
 import com.get.referred.referralplatform.service.UserService;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.get.referred.referralplatform.dto.CursorPage;
 import com.get.referred.referralplatform.dto.UserDTO;
 import com.get.referred.referralplatform.dto.ApiResponse;
 import com.get.referred.referralplatform.dto.UserProfileUpdateDTO;
@@ -28,61 +30,46 @@ import com.get.referred.referralplatform.dto.UserProfileUpdateDTO;
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
-    private final FirebaseAuth firebaseAuth;
+    private final PaginationSettings paginationSettings;
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
-    public UserController(UserService userService, FirebaseAuth firebaseAuth) {
+    public UserController(UserService userService, PaginationSettings paginationSettings) {
         this.userService = userService;
-        this.firebaseAuth = firebaseAuth;
+        this.paginationSettings = paginationSettings;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
-        try {
-            String idToken = authHeader.substring(7); // Remove "Bearer "
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            String firebaseUid = decodedToken.getUid();
-            return userService.findByFirebaseUid(firebaseUid)
-                .map(user -> {
-                    if (!user.isEmailVerified()) {
-                        logger.warn("User {} attempted to access profile with unverified email", firebaseUid);
-                        return ResponseEntity.status(403)
-                            .body(new ApiResponse<>(false, "Please verify your email before accessing your profile", null));
-                    }
-                    return ResponseEntity.ok(new ApiResponse<>(true, "User profile fetched successfully", UserDTO.fromEntity(user)));
-                })
-                .orElse(ResponseEntity.status(404).body(new ApiResponse<>(false, "User not found", null)));
-        } catch (Exception e) {
-            logger.error("Error getting current user: {}", e.getMessage());
-            return ResponseEntity.status(401)
-                .body(new ApiResponse<>(false, "Authentication failed: " + e.getMessage(), null));
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal, ServletWebRequest webRequest) {
+        if (principal == null) {
+            return ResponseEntity.status(404).body(new ApiResponse<>(false, "User not found", null));
+        }
+        if (!principal.isEmailVerified()) {
+            logger.warn("User {} attempted to access profile with unverified email", principal.getFirebaseUid());
+            return ResponseEntity.status(403)
+                .body(new ApiResponse<>(false, "Please verify your email before accessing your profile", null));
+        }
+        Optional<LocalDateTime> version = userService.getProfileVersion(principal.getId());
+        if (version.isPresent() && ConditionalGet.notModified(webRequest, "users/me", principal.getId(), version.get())) {
+            return null;
         }
+        return userService.getUserById(principal.getId())
+            .<ResponseEntity<?>>map(user -> ResponseEntity.ok(new ApiResponse<>(true, "User profile fetched successfully", UserDTO.fromEntity(user))))
+            .orElse(ResponseEntity.status(404).body(new ApiResponse<>(false, "User not found", null)));
     }
 
     @DeleteMapping("/me")
-    public ResponseEntity<ApiResponse<String>> deleteAccount(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ApiResponse<String>> deleteAccount(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>(false, "Token must be provided as 'Bearer {token}'", null));
-            }
-            String idToken = authHeader.substring(7); // Remove "Bearer "
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            String firebaseUid = decodedToken.getUid();
-
             boolean dbSuccess = false;
             StringBuilder errorMsg = new StringBuilder();
 
             // Database deletion logic only
             try {
-                Optional<User> userOpt = userService.findByFirebaseUid(firebaseUid);
-                if (userOpt.isPresent()) {
-                    userService.deleteByFirebaseUid(firebaseUid);
-                    dbSuccess = true;
-                } else {
-                    // Not found in DB, treat as success
-                    dbSuccess = true;
+                if (user != null) {
+                    userService.deleteByFirebaseUid(user.getFirebaseUid());
                 }
+                // Not found in DB is treated as success
+                dbSuccess = true;
             } catch (Exception e) {
                 errorMsg.append("Failed to delete from database: ").append(e.getMessage()).append(". ");
             }
@@ -93,9 +80,6 @@ public class UserController {
             } else {
                 return ResponseEntity.internalServerError().body(new ApiResponse<>(false, errorMsg.toString(), null));
             }
-        } catch (IllegalArgumentException e) {
-            logger.error("Invalid token format: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (Exception e) {
             logger.error("Error during account deletion: {}", e.getMessage());
             return ResponseEntity.internalServerError().body(new ApiResponse<>(false, e.getMessage(), null));
@@ -140,16 +124,18 @@ public class UserController {
 
     @GetMapping("/employees")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserDTO>>> getEmployees() {
-        List<UserDTO> employees = userService.getUserDTOsByRole(User.UserRole.USER);
-        return ResponseEntity.ok(new ApiResponse<>(true, "Employees fetched successfully", employees));
+    public ResponseEntity<ApiResponse<List<UserDTO>>> getEmployees(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged) {
+        CursorPage<UserDTO> page = userService.getUserDTOsByRole(User.UserRole.USER, paginationSettings.resolve(cursor, size, unpaged));
+        return ResponseEntity.ok(new ApiResponse<>(true, "Employees fetched successfully", page.items(), page.nextCursor()));
     }
 
     @PutMapping("/me")
-    public ResponseEntity<?> updateCurrentUser(@RequestHeader("Authorization") String authHeader, @RequestBody UserProfileUpdateDTO updateDTO) {
+    public ResponseEntity<?> updateCurrentUser(@AuthenticationPrincipal AuthenticatedUser user, @RequestBody UserProfileUpdateDTO updateDTO) {
         try {
-            String firebaseUid = userService.extractFirebaseUidFromAuthHeader(authHeader);
-            User updatedUser = userService.updateUserProfileByFirebaseUid(firebaseUid, updateDTO);
+            User updatedUser = userService.updateUserProfileByFirebaseUid(user.getFirebaseUid(), updateDTO);
             return ResponseEntity.ok(new ApiResponse<>(true, "User profile updated successfully", UserDTO.fromEntity(updatedUser)));
         } catch (RuntimeException e) {
             logger.error("Error updating user profile: {}", e.getMessage());
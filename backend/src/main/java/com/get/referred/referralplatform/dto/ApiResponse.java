@@ -1,9 +1,13 @@
 package com.get.referred.referralplatform.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public ApiResponse() {}
 
@@ -13,6 +17,11 @@ public class ApiResponse<T> {
         this.data = data;
     }
 
+    public ApiResponse(boolean success, String message, T data, String nextCursor) {
+        this(success, message, data);
+        this.nextCursor = nextCursor;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -36,4 +45,12 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 } 
\ No newline at end of file
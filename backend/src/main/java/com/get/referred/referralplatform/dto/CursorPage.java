@@ -0,0 +1,27 @@
+package com.get.referred.referralplatform.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list, with the cursor for the following page (null on the last page).
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with {@link PageQuery#pageable()}, which may hold one extra row.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, PageQuery query, Function<E, T> mapper,
+                                          Function<E, LocalDateTime> createdAt, Function<E, Long> id) {
+        boolean hasMore = !query.unpaged() && rows.size() > query.size();
+        List<E> page = hasMore ? rows.subList(0, query.size()) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(page.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,11 @@
+package com.get.referred.referralplatform.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap change marker for a referral list: how many rows it has and when the rows, or the users shown
+ * next to them, last changed. Any write that affects the list's content moves at least one of these.
+ */
+public record ListVersion(Long count, LocalDateTime lastModified,
+                          LocalDateTime jobSeekersModified, LocalDateTime employeesModified) {
+}
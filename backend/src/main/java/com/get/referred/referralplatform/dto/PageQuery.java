@@ -0,0 +1,32 @@
+package com.get.referred.referralplatform.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A resolved page request: where to start and how many rows to return.
+ *
+ * Repositories fetch one row more than {@code size} to find out whether another page exists.
+ * An unpaged query returns every remaining row and is only allowed when explicitly enabled.
+ */
+public record PageQuery(PageCursor after, int size, boolean unpaged) {
+    /**
+     * Cursor placed before every row, used when the client did not send one. Keeps the keyset
+     * predicate free of null checks so it stays a plain index range scan.
+     */
+    public static final PageCursor FIRST_PAGE = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public Pageable pageable() {
+        return unpaged ? Pageable.unpaged() : PageRequest.of(0, size + 1);
+    }
+
+    public LocalDateTime afterCreatedAt() {
+        return after != null ? after.createdAt() : FIRST_PAGE.createdAt();
+    }
+
+    public Long afterId() {
+        return after != null ? after.id() : FIRST_PAGE.id();
+    }
+}
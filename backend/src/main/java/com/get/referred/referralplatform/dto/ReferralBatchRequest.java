@@ -0,0 +1,11 @@
+package com.get.referred.referralplatform.dto;
+
+import java.util.List;
+
+import com.get.referred.referralplatform.model.ReferralRequest;
+
+/**
+ * Body of {@code PUT /api/referrals/batch/status}: the referral requests to move and where to.
+ */
+public record ReferralBatchRequest(List<Long> ids, ReferralRequest.Status status) {
+}
@@ -0,0 +1,28 @@
+package com.get.referred.referralplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome for one id of a batch transition; {@code status} is the request's status afterwards.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReferralBatchResult(Long id, Outcome outcome, String status, String message) {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+
+    public static ReferralBatchResult updated(Long id, String status) {
+        return new ReferralBatchResult(id, Outcome.UPDATED, status, null);
+    }
+
+    public static ReferralBatchResult notFound(Long id) {
+        return new ReferralBatchResult(id, Outcome.NOT_FOUND, null, "Referral request not found");
+    }
+
+    public static ReferralBatchResult conflict(Long id, String status, String message) {
+        return new ReferralBatchResult(id, Outcome.CONFLICT, status, message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.get.referred.referralplatform.dto;
+
+import java.util.List;
+
+/**
+ * One delta sync response: requests created or updated since the cursor, ids of deleted requests, and the
+ * cursor to send next time. With {@code hasMore} the client should ask again straight away; with
+ * {@code reset} its cursor was too old to trust, so it should drop its local copy before applying this.
+ */
+public record ReferralChanges(List<ReferralRequestDTO> changed, List<Long> deleted, String nextCursor,
+                              boolean hasMore, boolean reset) {
+}
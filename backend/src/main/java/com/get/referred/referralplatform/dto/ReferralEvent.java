@@ -0,0 +1,30 @@
+package com.get.referred.referralplatform.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.get.referred.referralplatform.model.ReferralRequest;
+
+/**
+ * A committed change to a referral request, pushed to the employees of its company.
+ *
+ * Carries just enough for a client to update a card in place; anything else can be fetched through
+ * /api/referrals/changes. {@code companyKey} only routes the event and is not sent.
+ */
+public record ReferralEvent(Type type, Long id, String status, Long jobSeekerId, Long employeeId,
+                            LocalDateTime occurredAt, @JsonIgnore String companyKey) {
+
+    public enum Type {
+        CREATED,
+        CLAIMED,
+        STATUS_CHANGED,
+        WITHDRAWN
+    }
+
+    public static ReferralEvent of(Type type, ReferralRequest request) {
+        return new ReferralEvent(type, request.getId(), request.getStatus().name(),
+            request.getJobSeeker().getId(),
+            request.getEmployee() != null ? request.getEmployee().getId() : null,
+            LocalDateTime.now(), request.getCompanyKey());
+    }
+}
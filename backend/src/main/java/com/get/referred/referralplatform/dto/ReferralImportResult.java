@@ -0,0 +1,36 @@
+package com.get.referred.referralplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one row of a bulk import, streamed back as one NDJSON line.
+ *
+ * {@code row} is the 1-based position among the data rows (CSV header and blank lines excluded);
+ * it is null for an {@code ERROR} that ended the import early.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReferralImportResult(Integer row, Outcome outcome, Long id, String message) {
+
+    public enum Outcome {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        ERROR
+    }
+
+    public static ReferralImportResult created(int row, Long id) {
+        return new ReferralImportResult(row, Outcome.CREATED, id, null);
+    }
+
+    public static ReferralImportResult duplicate(int row, String message) {
+        return new ReferralImportResult(row, Outcome.DUPLICATE, null, message);
+    }
+
+    public static ReferralImportResult invalid(int row, String message) {
+        return new ReferralImportResult(row, Outcome.INVALID, null, message);
+    }
+
+    public static ReferralImportResult error(String message) {
+        return new ReferralImportResult(null, Outcome.ERROR, null, message);
+    }
+}
@@ -2,6 +2,8 @@ package com.get.referred.referralplatform.dto;
 
 import java.time.LocalDateTime;
 
+import com.get.referred.referralplatform.model.ReferralRequest;
+
 public class ReferralRequestDTO {
     private Long id;
     private String jobId;
@@ -43,6 +45,29 @@ public class ReferralRequestDTO {
         this.employeeId = employeeId;
     }
 
+    /**
+     * Constructor used by JPQL projections in ReferralRequestRepository, which select exactly these
+     * columns from referral_requests joined with both users.
+     */
+    public ReferralRequestDTO(Long id, String jobId, String jobTitle, String jobLink, String companyName,
+                              ReferralRequest.Status status, Integer rating, LocalDateTime createdAt, LocalDateTime updatedAt,
+                              Long jobSeekerId, String jobSeekerName, String jobSeekerEmail, String jobSeekerLinkedin,
+                              String jobSeekerCompany, Long employeeId, String employeeName, String employeeEmail,
+                              String employeeLinkedin, String githubLink, String resumeLink, String linkedinLink) {
+        this(id, jobId, jobTitle, jobLink, companyName, status != null ? status.name() : null, rating,
+            createdAt, updatedAt, jobSeekerId, employeeId);
+        this.jobSeekerName = jobSeekerName;
+        this.jobSeekerEmail = jobSeekerEmail;
+        this.jobSeekerLinkedin = jobSeekerLinkedin;
+        this.jobSeekerCompany = jobSeekerCompany;
+        this.employeeName = employeeName;
+        this.employeeEmail = employeeEmail;
+        this.employeeLinkedin = employeeLinkedin;
+        this.githubLink = githubLink;
+        this.resumeLink = resumeLink;
+        this.linkedinLink = linkedinLink;
+    }
+
     public Long getId() {
         return id;
     }
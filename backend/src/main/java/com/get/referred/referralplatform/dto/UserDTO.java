@@ -1,5 +1,10 @@
 package com.get.referred.referralplatform.dto;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.get.referred.referralplatform.model.User;
+
 public class UserDTO {
     private Long id;
     private String name;
@@ -10,6 +15,9 @@ public class UserDTO {
     private String linkedinLink;
     private String resumeLink;
     private String companyName;
+    // Only needed to build keyset cursors; not part of the API response
+    @JsonIgnore
+    private LocalDateTime createdAt;
 
     public UserDTO() {}
 
@@ -25,6 +33,14 @@ public class UserDTO {
         this.companyName = companyName;
     }
 
+    /**
+     * Constructor used by JPQL projections in UserRepository.
+     */
+    public UserDTO(Long id, String name, String email, User.UserRole role, String profilePictureUrl, String githubLink, String linkedinLink, String resumeLink, String companyName, LocalDateTime createdAt) {
+        this(id, name, email, role != null ? role.name() : null, profilePictureUrl, githubLink, linkedinLink, resumeLink, companyName);
+        this.createdAt = createdAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -68,9 +84,18 @@ public class UserDTO {
     public String getCompanyName() { return companyName; }
     public void setCompanyName(String companyName) { this.companyName = companyName; }
 
+    @JsonIgnore
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     public static UserDTO fromEntity(com.get.referred.referralplatform.model.User user) {
         if (user == null) return null;
-        return new UserDTO(
+        UserDTO dto = new UserDTO(
             user.getId(),
             user.getName(),
             user.getEmail(),
@@ -81,5 +106,7 @@ public class UserDTO {
             user.getResumeLink(),
             user.getCompanyName()
         );
+        dto.setCreatedAt(user.getCreatedAt());
+        return dto;
     }
 }
\ No newline at end of file
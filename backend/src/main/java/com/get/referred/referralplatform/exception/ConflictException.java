@@ -0,0 +1,10 @@
+package com.get.referred.referralplatform.exception;
+
+/**
+ * Thrown when a write conflicts with the current state of a resource; mapped to 409 Conflict.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.get.referred.referralplatform.model;
+
+import java.util.Locale;
+
+/**
+ * Normalized form of a company name used for indexed equality lookups.
+ *
+ * Must stay in line with the SQL used by {@code CompanyKeyBackfill}: {@code LOWER(TRIM(company_name))}.
+ * SQL {@code TRIM} only removes spaces, so tabs and other control characters are kept here too, unlike
+ * {@link String#trim()}.
+ */
+public final class CompanyKey {
+    private CompanyKey() {
+    }
+
+    public static String of(String companyName) {
+        if (companyName == null) {
+            return null;
+        }
+        String trimmed = trimSpaces(companyName);
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimSpaces(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+}
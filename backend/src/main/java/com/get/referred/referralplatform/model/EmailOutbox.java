@@ -0,0 +1,113 @@
+package com.get.referred.referralplatform.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * An email queued in the same transaction as the change that triggered it, sent later by the dispatcher.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at, id")
+})
+public class EmailOutbox {
+    public static final String ID_SEQUENCE = "email_outbox_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum Status {
+        PENDING,
+        SENT,
+        FAILED
+    }
+
+    public EmailOutbox() {}
+
+    public EmailOutbox(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = createdAt;
+    }
+
+    /**
+     * Keeps other dispatchers away from the entry until {@code until}, while this one sends it.
+     */
+    public void lease(LocalDateTime until) {
+        this.nextAttemptAt = until;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = Status.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * Records a failed attempt and either schedules the next one or gives up after {@code maxAttempts}.
+     */
+    public void markFailed(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+        } else {
+            this.nextAttemptAt = nextAttemptAt;
+        }
+    }
+
+    public Long getId() { return id; }
+    public String getRecipient() { return recipient; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public Status getStatus() { return status; }
+    public int getAttempts() { return attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+}
@@ -6,28 +6,48 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "referral_requests")
+@Table(name = "referral_requests", uniqueConstraints = {
+    // At most one PENDING request per job seeker and company; pending_key is null for other statuses
+    @UniqueConstraint(name = "uk_referral_job_seeker_pending", columnNames = {"job_seeker_id", "pending_key"})
+}, indexes = {
+    @Index(name = "idx_referral_job_seeker_created", columnList = "job_seeker_id, created_at, id"),
+    @Index(name = "idx_referral_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_referral_company_status_employee", columnList = "company_key, status, employee_id"),
+    @Index(name = "idx_referral_job_seeker_status", columnList = "job_seeker_id, status, created_at, id"),
+    @Index(name = "idx_referral_employee_status", columnList = "employee_id, status, created_at, id"),
+    @Index(name = "idx_referral_updated", columnList = "updated_at, id"),
+    @Index(name = "idx_referral_job_seeker_updated", columnList = "job_seeker_id, updated_at, id"),
+    @Index(name = "idx_referral_employee_updated", columnList = "employee_id, updated_at, id"),
+    @Index(name = "idx_referral_company_updated", columnList = "company_key, updated_at, id")
+})
 public class ReferralRequest {
+    public static final String ID_SEQUENCE = "referral_requests_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_seeker_id", nullable = false)
     @NotNull
     private User jobSeeker;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = true)
     private User employee;
 
@@ -45,6 +65,14 @@ public class ReferralRequest {
     @Column(name = "company_name", nullable = false)
     private String companyName;
 
+    // Derived from companyName, see CompanyKey; nullable only so existing rows can be backfilled
+    @Column(name = "company_key")
+    private String companyKey;
+
+    // companyKey while the request is PENDING, null otherwise
+    @Column(name = "pending_key")
+    private String pendingKey;
+
     @Column(name = "linkedin_url")
     private String linkedinUrl;
 
@@ -78,6 +106,7 @@ public class ReferralRequest {
     }
     public void setStatus(Status status) {
         this.status = status;
+        refreshPendingKey();
     }
     public LocalDateTime getCreatedAt() {
         return createdAt;
@@ -120,6 +149,17 @@ public class ReferralRequest {
     }
     public void setCompanyName(String companyName) {
         this.companyName = companyName;
+        this.companyKey = CompanyKey.of(companyName);
+        refreshPendingKey();
+    }
+    public String getCompanyKey() {
+        return companyKey;
+    }
+    public String getPendingKey() {
+        return pendingKey;
+    }
+    private void refreshPendingKey() {
+        this.pendingKey = status == Status.PENDING ? companyKey : null;
     }
     public String getJobTitle() {
         return jobTitle;
@@ -0,0 +1,55 @@
+package com.get.referred.referralplatform.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Marker left behind when a referral request is deleted, so delta sync clients can drop it too.
+ * Keeps the request's id and the users and company it was visible to; purged after the retention period.
+ */
+@Entity
+@Table(name = "referral_tombstones", indexes = {
+    @Index(name = "idx_referral_tombstone_deleted", columnList = "deleted_at, id"),
+    @Index(name = "idx_referral_tombstone_job_seeker", columnList = "job_seeker_id, deleted_at, id"),
+    @Index(name = "idx_referral_tombstone_employee", columnList = "employee_id, deleted_at, id"),
+    @Index(name = "idx_referral_tombstone_company", columnList = "company_key, deleted_at, id")
+})
+public class ReferralTombstone {
+    // The deleted request's id, not generated
+    @Id
+    private Long id;
+
+    @Column(name = "job_seeker_id", nullable = false)
+    private Long jobSeekerId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "company_key")
+    private String companyKey;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    protected ReferralTombstone() {
+    }
+
+    public ReferralTombstone(ReferralRequest request, LocalDateTime deletedAt) {
+        this.id = request.getId();
+        this.jobSeekerId = request.getJobSeeker().getId();
+        this.employeeId = request.getEmployee() != null ? request.getEmployee().getId() : null;
+        this.companyKey = request.getCompanyKey();
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getJobSeekerId() { return jobSeekerId; }
+    public Long getEmployeeId() { return employeeId; }
+    public String getCompanyKey() { return companyKey; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+}
@@ -9,6 +9,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
@@ -19,10 +21,16 @@ import jakarta.persistence.PreUpdate;
 @Entity
 @Table(name = "users", uniqueConstraints = {
     @UniqueConstraint(columnNames = "firebase_uid")
+}, indexes = {
+    @Index(name = "idx_user_role_created", columnList = "role, created_at, id"),
+    @Index(name = "idx_user_updated", columnList = "updated_at")
 })
 public class User {
+    public static final String ID_SEQUENCE = "users_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
     @Column(name = "firebase_uid", unique = true, nullable = false)
@@ -66,6 +74,10 @@ public class User {
     @Column(name = "company_name")
     private String companyName;
 
+    // Derived from companyName, see CompanyKey
+    @Column(name = "company_key")
+    private String companyKey;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -126,5 +138,9 @@ public class User {
     public void setResumeLink(String resumeLink) { this.resumeLink = resumeLink; }
 
     public String getCompanyName() { return companyName; }
-    public void setCompanyName(String companyName) { this.companyName = companyName; }
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+        this.companyKey = CompanyKey.of(companyName);
+    }
+    public String getCompanyKey() { return companyKey; }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.get.referred.referralplatform.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    // Lock timeout -2 is Hibernate's SKIP LOCKED, so concurrent dispatchers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from EmailOutbox o where o.status = :status and o.nextAttemptAt <= :now"
+        + " order by o.nextAttemptAt, o.id")
+    List<EmailOutbox> claimDue(@Param("status") EmailOutbox.Status status, @Param("now") LocalDateTime now,
+                               Pageable pageable);
+}
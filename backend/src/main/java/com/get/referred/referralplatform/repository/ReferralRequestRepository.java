@@ -1,18 +1,208 @@
 package com.get.referred.referralplatform.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.get.referred.referralplatform.dto.ListVersion;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
 import com.get.referred.referralplatform.model.ReferralRequest;
 import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
 
 @Repository
 public interface ReferralRequestRepository extends JpaRepository<ReferralRequest, Long> {
+    // Keyset pagination over (created_at desc, id desc); the first page starts after PageQuery.FIRST_PAGE
+    String AFTER_CURSOR = " and (r.createdAt < :afterCreatedAt"
+        + " or (r.createdAt = :afterCreatedAt and r.id < :afterId))"
+        + " order by r.createdAt desc, r.id desc";
+
+    // Both users are LAZY; entity lookups whose results are mapped to DTOs fetch them in the same statement
+    @Override
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
+    Optional<ReferralRequest> findById(Long id);
+
     List<ReferralRequest> findByJobSeekerId(Long jobSeekerId);
+    // Served by uk_referral_job_seeker_pending
+    boolean existsByJobSeekerIdAndPendingKey(Long jobSeekerId, String pendingKey);
+    // Set-wise variant for bulk imports: which of these companies already have a pending request
+    @Query("select r.pendingKey from ReferralRequest r where r.jobSeeker.id = :jobSeekerId and r.pendingKey in :pendingKeys")
+    List<String> findPendingKeys(@Param("jobSeekerId") Long jobSeekerId, @Param("pendingKeys") Collection<String> pendingKeys);
+    // Atomic claim: at most one concurrent caller sees 1, everyone else sees 0 without a lost update.
+    // Only requests addressed to the caller's company can be claimed, unless anyCompany (admins)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ReferralRequest r set r.employee = :employee, r.status = :claimed, r.pendingKey = null,"
+        + " r.updatedAt = :now where r.id = :id and r.employee is null and r.status = :pending"
+        + " and (:anyCompany = true or r.companyKey = :companyKey)")
+    int claimIfPending(@Param("id") Long id, @Param("employee") User employee,
+                       @Param("companyKey") String companyKey, @Param("anyCompany") boolean anyCompany,
+                       @Param("pending") Status pending, @Param("claimed") Status claimed,
+                       @Param("now") LocalDateTime now);
+    @Query("select r.companyKey from ReferralRequest r where r.id = :id")
+    Optional<String> findCompanyKeyById(@Param("id") Long id);
+
+    // Batch transitions: the rules live in the where clauses, so each update touches only the rows that may move
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ReferralRequest r set r.employee = :employee, r.status = :target, r.pendingKey = null,"
+        + " r.updatedAt = :now where r.id in :ids and r.employee is null and r.status = :pending"
+        + " and (:anyCompany = true or r.companyKey = :companyKey)")
+    int claimAllIfPending(@Param("ids") Collection<Long> ids, @Param("employee") User employee,
+                          @Param("companyKey") String companyKey, @Param("anyCompany") boolean anyCompany,
+                          @Param("pending") Status pending, @Param("target") Status target,
+                          @Param("now") LocalDateTime now);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ReferralRequest r set r.status = :target, r.pendingKey = null, r.updatedAt = :now"
+        + " where r.id in :ids and r.status in :from and (:anyEmployee = true or r.employee = :employee)")
+    int transitionAll(@Param("ids") Collection<Long> ids, @Param("from") Collection<Status> from,
+                      @Param("target") Status target, @Param("employee") User employee,
+                      @Param("anyEmployee") boolean anyEmployee, @Param("now") LocalDateTime now);
+    // Conditional delete, so a request claimed in the meantime is left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ReferralRequest r where r.id = :id and r.status = :status")
+    int deleteIfStatus(@Param("id") Long id, @Param("status") Status status);
+    @Query("select r.id as id, r.status as status, r.companyKey as companyKey, e.id as employeeId"
+        + " from ReferralRequest r left join r.employee e where r.id in :ids")
+    List<StatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
+    List<ReferralRequest> findByIdIn(Collection<Long> ids);
+
+    interface StatusView {
+        Long getId();
+        Status getStatus();
+        String getCompanyKey();
+        Long getEmployeeId();
+    }
+
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
     List<ReferralRequest> findByEmployeeId(Long employeeId);
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
     List<ReferralRequest> findByStatus(Status status);
-    List<ReferralRequest> findByCompanyNameIgnoreCaseAndStatusAndEmployeeIsNull(String companyName, ReferralRequest.Status status);
-    List<ReferralRequest> findByCompanyNameIgnoreCase(String companyName);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
+    List<ReferralRequest> findByCompanyKeyAndStatusAndEmployeeIsNull(String companyKey, ReferralRequest.Status status);
+    @EntityGraph(attributePaths = {"jobSeeker", "employee"})
+    List<ReferralRequest> findByCompanyKey(String companyKey);
+
+    // List endpoints project straight into ReferralRequestDTO in one joined statement, without
+    // hydrating managed entities or their dirty-checking snapshots
+    String SELECT_DTO = "select new com.get.referred.referralplatform.dto.ReferralRequestDTO("
+        + "r.id, r.jobId, r.jobTitle, r.jobLink, r.companyName, r.status, r.rating, r.createdAt, r.updatedAt,"
+        + " js.id, js.name, js.email, js.linkedinLink, js.companyName,"
+        + " e.id, e.name, e.email, e.linkedinLink,"
+        + " r.githubUrl, r.resumeLink, r.linkedinUrl)"
+        + " from ReferralRequest r join r.jobSeeker js left join r.employee e";
+
+    @Query(SELECT_DTO + " where r.jobSeeker.id = :jobSeekerId" + AFTER_CURSOR)
+    List<ReferralRequestDTO> findPageByJobSeekerId(@Param("jobSeekerId") Long jobSeekerId,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_DTO + " where r.status = :status" + AFTER_CURSOR)
+    List<ReferralRequestDTO> findPageByStatus(@Param("status") Status status,
+                                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                              @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_DTO + " where r.companyKey = :companyKey" + AFTER_CURSOR)
+    List<ReferralRequestDTO> findPageByCompanyKey(@Param("companyKey") String companyKey,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    // Delta sync: everything the user sees as job seeker, employee or colleague at the company, in
+    // (updated_at, id) order from a cursor. One keyset query per scope, each a range scan on its own
+    // (scope, updated_at, id) index, so the cost follows what changed in that scope; the caller merges them
+    String CHANGED_AFTER = " and (r.updatedAt > :afterAt or (r.updatedAt = :afterAt and r.id > :afterId))"
+        + " and r.updatedAt <= :upTo order by r.updatedAt, r.id";
+
+    @Query(SELECT_DTO + " where r.jobSeeker.id = :jobSeekerId" + CHANGED_AFTER)
+    List<ReferralRequestDTO> findChangesByJobSeekerId(@Param("jobSeekerId") Long jobSeekerId,
+                                                      @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                      @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    @Query(SELECT_DTO + " where r.employee.id = :employeeId" + CHANGED_AFTER)
+    List<ReferralRequestDTO> findChangesByEmployeeId(@Param("employeeId") Long employeeId,
+                                                     @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                     @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    @Query(SELECT_DTO + " where r.companyKey = :companyKey" + CHANGED_AFTER)
+    List<ReferralRequestDTO> findChangesByCompanyKey(@Param("companyKey") String companyKey,
+                                                     @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                     @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    // Versions for conditional GETs of the lists above: one aggregate row over the same index range,
+    // with the users joined by primary key so profile edits shown in the list change the version too
+    String SELECT_VERSION = "select new com.get.referred.referralplatform.dto.ListVersion("
+        + "count(r), max(coalesce(r.updatedAt, r.createdAt)), max(js.updatedAt), max(e.updatedAt))"
+        + " from ReferralRequest r join r.jobSeeker js left join r.employee e";
+
+    @Query(SELECT_VERSION + " where r.jobSeeker.id = :jobSeekerId")
+    ListVersion findVersionByJobSeekerId(@Param("jobSeekerId") Long jobSeekerId);
+
+    @Query(SELECT_VERSION + " where r.companyKey = :companyKey")
+    ListVersion findVersionByCompanyKey(@Param("companyKey") String companyKey);
+
+    // Unclaimed PENDING requests: per company for /received?unclaimed=true when the in-memory index is not
+    // ready, across companies to warm that index, and by id to apply single changes or fix drift in it
+    String UNCLAIMED = " r.status = :status and r.employee is null";
+
+    @Query(SELECT_DTO + " where r.companyKey = :companyKey and" + UNCLAIMED + AFTER_CURSOR)
+    List<ReferralRequestDTO> findUnclaimedPageByCompanyKey(@Param("companyKey") String companyKey,
+                                                           @Param("status") Status status,
+                                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_DTO + " where" + UNCLAIMED + AFTER_CURSOR)
+    List<ReferralRequestDTO> findUnclaimedPage(@Param("status") Status status,
+                                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_DTO + " where r.id in :ids and" + UNCLAIMED)
+    List<ReferralRequestDTO> findUnclaimedByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Query("select r.id as id, r.companyKey as companyKey, r.updatedAt as updatedAt from ReferralRequest r where"
+        + UNCLAIMED)
+    List<UnclaimedVersionView> findUnclaimedVersions(@Param("status") Status status);
+
+    interface UnclaimedVersionView {
+        Long getId();
+        String getCompanyKey();
+        LocalDateTime getUpdatedAt();
+    }
+
+    // Incremental reconciliation: whatever changed since the previous pass, in any status so requests claimed
+    // elsewhere leave the index too, as a range scan on idx_referral_updated; and the unclaimed requests of
+    // job seekers who edited their profile, driven by idx_user_updated
+    @Query("select r.id as id, r.companyKey as companyKey, r.updatedAt as updatedAt, r.status as status,"
+        + " e.id as employeeId from ReferralRequest r left join r.employee e where r.updatedAt > :since")
+    List<ChangedVersionView> findVersionsUpdatedSince(@Param("since") LocalDateTime since);
+
+    interface ChangedVersionView {
+        Long getId();
+        String getCompanyKey();
+        LocalDateTime getUpdatedAt();
+        Status getStatus();
+        Long getEmployeeId();
+    }
+
+    @Query("select r.id from ReferralRequest r join r.jobSeeker js where js.updatedAt > :since and" + UNCLAIMED)
+    List<Long> findUnclaimedIdsByJobSeekerUpdatedSince(@Param("since") LocalDateTime since,
+                                                       @Param("status") Status status);
+
+    @Query("select count(r) from ReferralRequest r where" + UNCLAIMED)
+    long countUnclaimed(@Param("status") Status status);
+
+    // Predicates use the foreign key columns of referral_requests (not the joined users) so each side
+    // of the OR can seek idx_referral_job_seeker_status / idx_referral_employee_status
+    @Query(SELECT_DTO + " where r.status = :status"
+        + " and (r.jobSeeker.id = :userId or r.employee.id = :userId)" + AFTER_CURSOR)
+    List<ReferralRequestDTO> findPageByUserAndStatus(@Param("userId") Long userId, @Param("status") Status status,
+                                                     @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                     @Param("afterId") Long afterId, Pageable pageable);
+}
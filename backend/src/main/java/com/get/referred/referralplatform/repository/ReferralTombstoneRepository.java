@@ -0,0 +1,43 @@
+package com.get.referred.referralplatform.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.get.referred.referralplatform.model.ReferralTombstone;
+
+@Repository
+public interface ReferralTombstoneRepository extends JpaRepository<ReferralTombstone, Long> {
+    // Same scopes and (timestamp, id) keyset as ReferralRequestRepository's delta sync queries, one per scope
+    String DELETED_AFTER = " and (t.deletedAt > :afterAt or (t.deletedAt = :afterAt and t.id > :afterId))"
+        + " and t.deletedAt <= :upTo order by t.deletedAt, t.id";
+
+    @Query("select t from ReferralTombstone t where t.jobSeekerId = :jobSeekerId" + DELETED_AFTER)
+    List<ReferralTombstone> findChangesByJobSeekerId(@Param("jobSeekerId") Long jobSeekerId,
+                                                     @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                     @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    @Query("select t from ReferralTombstone t where t.employeeId = :employeeId" + DELETED_AFTER)
+    List<ReferralTombstone> findChangesByEmployeeId(@Param("employeeId") Long employeeId,
+                                                    @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                    @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    @Query("select t from ReferralTombstone t where t.companyKey = :companyKey" + DELETED_AFTER)
+    List<ReferralTombstone> findChangesByCompanyKey(@Param("companyKey") String companyKey,
+                                                    @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId,
+                                                    @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    // Requests deleted since the unclaimed index's previous reconciliation pass
+    @Query("select t.id from ReferralTombstone t where t.deletedAt > :since")
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("delete from ReferralTombstone t where t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,11 +1,16 @@
 package com.get.referred.referralplatform.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.get.referred.referralplatform.dto.UserDTO;
 import com.get.referred.referralplatform.model.User;
 import com.get.referred.referralplatform.model.User.UserRole;
 
@@ -16,4 +21,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(UserRole role);
     boolean existsByEmail(String email);
     boolean existsByFirebaseUid(String firebaseUid);
-}
\ No newline at end of file
+
+    // Version of a profile for conditional GETs; maintained by User's @PrePersist/@PreUpdate
+    @Query("select u.updatedAt from User u where u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Projects straight into UserDTO so list endpoints never hydrate managed User entities
+    @Query("select new com.get.referred.referralplatform.dto.UserDTO(u.id, u.name, u.email, u.role,"
+        + " u.profilePictureUrl, u.githubLink, u.linkedinLink, u.resumeLink, u.companyName, u.createdAt)"
+        + " from User u where u.role = :role"
+        + " and (u.createdAt < :afterCreatedAt"
+        + " or (u.createdAt = :afterCreatedAt and u.id < :afterId))"
+        + " order by u.createdAt desc, u.id desc")
+    List<UserDTO> findPageByRole(@Param("role") UserRole role,
+                                 @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                 @Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,53 @@
+package com.get.referred.referralplatform.security;
+
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.model.User.AuthProvider;
+import com.get.referred.referralplatform.model.User.UserRole;
+
+/**
+ * Slim, immutable snapshot of a user that is stored as the Spring Security principal.
+ *
+ * It only carries the fields needed to authorize a request, so it can be cached across requests
+ * without holding on to a managed {@link User} entity.
+ */
+public final class AuthenticatedUser {
+    private final Long id;
+    private final String firebaseUid;
+    private final UserRole role;
+    private final AuthProvider authProvider;
+    private final boolean emailVerified;
+    private final String companyName;
+
+    public AuthenticatedUser(Long id, String firebaseUid, UserRole role, AuthProvider authProvider,
+                             boolean emailVerified, String companyName) {
+        this.id = id;
+        this.firebaseUid = firebaseUid;
+        this.role = role;
+        this.authProvider = authProvider;
+        this.emailVerified = emailVerified;
+        this.companyName = companyName;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+            user.getId(),
+            user.getFirebaseUid(),
+            user.getRole(),
+            user.getAuthProvider(),
+            user.isEmailVerified(),
+            user.getCompanyName()
+        );
+    }
+
+    public Long getId() { return id; }
+
+    public String getFirebaseUid() { return firebaseUid; }
+
+    public UserRole getRole() { return role; }
+
+    public AuthProvider getAuthProvider() { return authProvider; }
+
+    public boolean isEmailVerified() { return emailVerified; }
+
+    public String getCompanyName() { return companyName; }
+}
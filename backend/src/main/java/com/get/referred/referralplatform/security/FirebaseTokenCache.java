@@ -0,0 +1,122 @@
+package com.get.referred.referralplatform.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Bounded cache of already verified ID tokens.
+ *
+ * Entries are keyed by a SHA-256 hash of the raw token (the token itself is never stored as a key)
+ * and are dropped once the token's {@code exp} claim has passed. When the cache is full, expired
+ * entries are purged first and then the entries closest to expiry are evicted.
+ */
+@Component
+public class FirebaseTokenCache {
+    private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+
+    public FirebaseTokenCache(MeterRegistry meterRegistry,
+                              @Value("${firebase.token-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("firebase.token.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("firebase.token.cache.requests", "result", "miss");
+        this.expiredEvictions = meterRegistry.counter("firebase.token.cache.evictions", "cause", "expired");
+        this.sizeEvictions = meterRegistry.counter("firebase.token.cache.evictions", "cause", "size");
+        meterRegistry.gaugeMapSize("firebase.token.cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * Returns the verified token for the given raw ID token, or null if it is not cached or has expired.
+     */
+    public VerifiedToken get(String idToken) {
+        String key = hash(idToken);
+        CachedToken cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, cached)) {
+                expiredEvictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.token();
+    }
+
+    /**
+     * Caches a token that has just been verified. Tokens without an {@code exp} claim are not cached.
+     */
+    public void put(String idToken, VerifiedToken token) {
+        if (token.expiresAtEpochSeconds() <= 0) {
+            return;
+        }
+        long expiresAtMillis = token.expiresAtEpochSeconds() * 1000L;
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(hash(idToken), new CachedToken(token, expiresAtMillis));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, cached) -> {
+            if (cached.isExpired(now) && entries.remove(key, cached)) {
+                expiredEvictions.increment();
+            }
+        });
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+            .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtMillis()))
+            .limit(excess)
+            .forEach(e -> {
+                if (entries.remove(e.getKey(), e.getValue())) {
+                    sizeEvictions.increment();
+                }
+            });
+    }
+
+    private static String hash(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(idToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedToken(VerifiedToken token, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
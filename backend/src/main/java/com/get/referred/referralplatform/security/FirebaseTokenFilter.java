@@ -1,9 +1,10 @@
 package com.get.referred.referralplatform.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
 import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.service.UserIdentityCache;
 import com.get.referred.referralplatform.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,16 +21,27 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @Component
 public class FirebaseTokenFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(FirebaseTokenFilter.class);
-    private final FirebaseAuth firebaseAuth;
+    private final TokenVerifier tokenVerifier;
     private final UserService userService;
+    private final FirebaseTokenCache tokenCache;
+    private final UserIdentityCache identityCache;
+    private final SessionTokenService sessionTokenService;
+    private final MeterRegistry meterRegistry;
 
-    public FirebaseTokenFilter(FirebaseAuth firebaseAuth, UserService userService) {
-        this.firebaseAuth = firebaseAuth;
+    public FirebaseTokenFilter(TokenVerifier tokenVerifier, UserService userService, FirebaseTokenCache tokenCache,
+                               UserIdentityCache identityCache, SessionTokenService sessionTokenService,
+                               MeterRegistry meterRegistry) {
+        this.tokenVerifier = tokenVerifier;
         this.userService = userService;
+        this.tokenCache = tokenCache;
+        this.identityCache = identityCache;
+        this.sessionTokenService = sessionTokenService;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -39,19 +51,19 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String idToken = authorizationHeader.substring(7);
+            boolean sessionToken = sessionTokenService.isSessionToken(idToken);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "rejected";
 
             try {
-                // Verify the Firebase token
-                FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-                String firebaseUid = decodedToken.getUid();
-                String email = decodedToken.getEmail();
-                boolean isEmailVerified = Boolean.TRUE.equals(decodedToken.isEmailVerified());
-                
-                // Find or create user using the service method
-                User user = userService.findOrCreateUserByFirebaseId(firebaseUid, email, isEmailVerified);
+                AuthenticatedUser user = sessionToken
+                    ? authenticateSessionToken(idToken)
+                    : authenticateFirebaseToken(idToken);
+                String firebaseUid = user.getFirebaseUid();
 
                 // Check email verification based on auth provider
                 if (user.getAuthProvider() == User.AuthProvider.EMAIL && !user.isEmailVerified()) {
+                    outcome = "unverified";
                     logger.warn("User {} attempted to access protected resource with unverified email", firebaseUid);
                     response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                     response.setContentType("application/json");
@@ -67,19 +79,70 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(user, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = "success";
 
             } catch (Exception e) {
-                logger.error("Firebase token verification failed: {}", e.getMessage());
+                logger.error("Token verification failed: {}", e.getMessage());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"error\": \"Invalid or expired token\", \"message\": \"" + e.getMessage() + "\"}");
                 return;
+            } finally {
+                sample.stop(meterRegistry.timer("auth.filter.authenticate",
+                    "token", sessionToken ? "session" : "firebase", "outcome", outcome));
             }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private AuthenticatedUser authenticateFirebaseToken(String idToken) throws Exception {
+        // Verify the Firebase token, unless it was already verified by an earlier request
+        VerifiedToken decodedToken = tokenCache.get(idToken);
+        if (decodedToken == null) {
+            decodedToken = timed("firebase_verify", () -> tokenVerifier.verify(idToken));
+            tokenCache.put(idToken, decodedToken);
+        }
+        String firebaseUid = decodedToken.uid();
+        String email = decodedToken.email();
+        boolean isEmailVerified = decodedToken.emailVerified();
+
+        // Resolve the user from the identity cache, falling back to find-or-create in the database
+        AuthenticatedUser user = identityCache.get(firebaseUid);
+        if (user == null) {
+            user = AuthenticatedUser.from(timed("user_provision",
+                () -> userService.findOrCreateUserByFirebaseId(firebaseUid, email, isEmailVerified)));
+            identityCache.put(user);
+        }
+        return user;
+    }
+
+    private AuthenticatedUser authenticateSessionToken(String sessionToken) throws Exception {
+        // Session tokens are only minted for existing users, so never create one here
+        String firebaseUid = timed("session_verify", () -> sessionTokenService.verify(sessionToken).getSubject());
+        AuthenticatedUser user = identityCache.get(firebaseUid);
+        if (user == null) {
+            user = timed("user_lookup", () -> userService.findByFirebaseUid(firebaseUid))
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+            identityCache.put(user);
+        }
+        return user;
+    }
+
+    // Times one stage of authentication, so slow requests can be attributed to verification or the database
+    private <T> T timed(String stage, Callable<T> work) throws Exception {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = work.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.filter.stage", "stage", stage, "outcome", outcome));
+        }
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -0,0 +1,44 @@
+package com.get.referred.referralplatform.security;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+
+@Component
+@ConditionalOnProperty(name = "auth.token-verifier", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseTokenVerifier implements TokenVerifier {
+    private final FirebaseAuth firebaseAuth;
+
+    public FirebaseTokenVerifier(FirebaseAuth firebaseAuth) {
+        this.firebaseAuth = firebaseAuth;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws Exception {
+        FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
+        Map<String, Object> claims = decodedToken.getClaims();
+
+        String signInProvider = null;
+        Object firebaseClaim = claims.get("firebase");
+        if (firebaseClaim instanceof Map) {
+            Object providerObj = ((Map<?, ?>) firebaseClaim).get("sign_in_provider");
+            if (providerObj != null) {
+                signInProvider = providerObj.toString();
+            }
+        }
+        Object exp = claims.get("exp");
+        long expiresAt = exp instanceof Number ? ((Number) exp).longValue() : 0L;
+
+        return new VerifiedToken(
+            decodedToken.getUid(),
+            decodedToken.getEmail(),
+            Boolean.TRUE.equals(decodedToken.isEmailVerified()),
+            signInProvider,
+            expiresAt
+        );
+    }
+}
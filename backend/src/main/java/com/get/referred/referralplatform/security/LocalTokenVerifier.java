@@ -0,0 +1,115 @@
+package com.get.referred.referralplatform.security;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * In-process stand-in for Firebase token verification, for load testing without network access.
+ *
+ * Tokens are RS256-signed with a keypair generated at startup and carry the same claims Firebase
+ * puts into ID tokens ({@code iss}, {@code aud}, {@code sub}, {@code email}, {@code email_verified},
+ * {@code firebase.sign_in_provider}). Verification can be slowed down and made to fail at a
+ * configurable rate to approximate the remote dependency.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.token-verifier", havingValue = "local")
+public class LocalTokenVerifier implements TokenVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(LocalTokenVerifier.class);
+
+    private final KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+    private final String projectId;
+    private final String issuer;
+    private final Duration tokenTtl;
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double errorRate;
+    private final JwtParser parser;
+
+    public LocalTokenVerifier(@Value("${auth.local.project-id:local-project}") String projectId,
+                              @Value("${auth.local.token-ttl-minutes:60}") long tokenTtlMinutes,
+                              @Value("${auth.local.latency-ms:0}") long latencyMillis,
+                              @Value("${auth.local.latency-jitter-ms:0}") long latencyJitterMillis,
+                              @Value("${auth.local.error-rate:0.0}") double errorRate) {
+        this.projectId = projectId;
+        this.issuer = "https://securetoken.google.com/" + projectId;
+        this.tokenTtl = Duration.ofMinutes(tokenTtlMinutes);
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = latencyJitterMillis;
+        this.errorRate = errorRate;
+        this.parser = Jwts.parserBuilder()
+            .requireIssuer(issuer)
+            .requireAudience(projectId)
+            .setSigningKey(keyPair.getPublic())
+            .build();
+        logger.warn("Using the local token verifier; Firebase ID tokens will NOT be accepted");
+    }
+
+    /**
+     * Issues a Firebase-shaped ID token signed with the local keypair.
+     */
+    public String issue(String uid, String email, boolean emailVerified, String signInProvider) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .setIssuer(issuer)
+            .setAudience(projectId)
+            .setSubject(uid)
+            .claim("user_id", uid)
+            .claim("email", email)
+            .claim("email_verified", emailVerified)
+            .claim("auth_time", now.getEpochSecond())
+            .claim("firebase", Map.of("sign_in_provider", signInProvider))
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plus(tokenTtl)))
+            .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+            .compact();
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) throws Exception {
+        simulateRemoteCall();
+        Claims claims = parser.parseClaimsJws(idToken).getBody();
+
+        String signInProvider = null;
+        Object firebaseClaim = claims.get("firebase");
+        if (firebaseClaim instanceof Map) {
+            Object providerObj = ((Map<?, ?>) firebaseClaim).get("sign_in_provider");
+            if (providerObj != null) {
+                signInProvider = providerObj.toString();
+            }
+        }
+        return new VerifiedToken(
+            claims.getSubject(),
+            claims.get("email", String.class),
+            Boolean.TRUE.equals(claims.get("email_verified", Boolean.class)),
+            signInProvider,
+            claims.getExpiration().toInstant().getEpochSecond()
+        );
+    }
+
+    private void simulateRemoteCall() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? random.nextLong(latencyJitterMillis + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new Exception("Simulated token verification failure");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.get.referred.referralplatform.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Issues and verifies short-lived session tokens signed locally with HMAC-SHA256.
+ *
+ * Keys are configured as {@code kid:base64secret} pairs. New tokens are signed with the active key,
+ * while any configured key is accepted for verification, so a key can be rotated by adding the new
+ * key, switching the active id and removing the old key once its tokens have expired.
+ */
+@Component
+public class SessionTokenService {
+    static final String ISSUER = "get-referred";
+    private static final String TOKEN_TYPE = "session";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean enabled;
+    private final Map<String, Key> keys;
+    private final String activeKeyId;
+    private final Duration ttl;
+    private final JwtParser parser;
+
+    public SessionTokenService(@Value("${session.jwt.enabled:false}") boolean enabled,
+                               @Value("${session.jwt.keys:}") String keys,
+                               @Value("${session.jwt.active-key-id:}") String activeKeyId,
+                               @Value("${session.jwt.ttl-minutes:15}") long ttlMinutes) {
+        this.enabled = enabled;
+        this.keys = parseKeys(keys);
+        this.activeKeyId = activeKeyId;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        if (enabled && !this.keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("session.jwt.active-key-id must name one of the configured session.jwt.keys");
+        }
+        this.parser = Jwts.parserBuilder()
+            .requireIssuer(ISSUER)
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    Key key = SessionTokenService.this.keys.get(header.getKeyId());
+                    if (key == null) {
+                        throw new JwtException("Unknown session key id: " + header.getKeyId());
+                    }
+                    return key;
+                }
+            })
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mints a session token for a user that has just been authenticated with Firebase.
+     */
+    public String issue(String firebaseUid, Long userId, String role) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+            .setHeaderParam(JwsHeader.TYPE, TOKEN_TYPE)
+            .setIssuer(ISSUER)
+            .setSubject(firebaseUid)
+            .claim("uid", userId)
+            .claim("role", role)
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plus(ttl)))
+            .signWith(keys.get(activeKeyId), SignatureAlgorithm.HS256)
+            .compact();
+    }
+
+    /**
+     * Cheap check on the unverified JOSE header to tell session tokens apart from Firebase ID tokens.
+     */
+    public boolean isSessionToken(String token) {
+        if (!enabled) {
+            return false;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        try {
+            byte[] headerJson = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            JsonNode header = objectMapper.readTree(new String(headerJson, StandardCharsets.UTF_8));
+            return TOKEN_TYPE.equals(header.path(JwsHeader.TYPE).asText())
+                && keys.containsKey(header.path(JwsHeader.KEY_ID).asText());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Verifies the signature, issuer and expiry of a session token and returns its claims.
+     */
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Map<String, Key> parseKeys(String keys) {
+        Map<String, Key> parsed = new LinkedHashMap<>();
+        if (keys == null || keys.isBlank()) {
+            return Collections.emptyMap();
+        }
+        for (String entry : keys.split(",")) {
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalStateException("session.jwt.keys entries must look like kid:base64secret");
+            }
+            parsed.put(parts[0], Keys.hmacShaKeyFor(Base64.getDecoder().decode(parts[1])));
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+}
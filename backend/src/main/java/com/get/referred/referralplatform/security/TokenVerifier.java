@@ -0,0 +1,18 @@
+package com.get.referred.referralplatform.security;
+
+/**
+ * Verifies ID tokens sent as Bearer tokens by the frontend.
+ *
+ * The default implementation delegates to Firebase ({@link FirebaseTokenVerifier}). Setting
+ * {@code auth.token-verifier=local} swaps in {@link LocalTokenVerifier}, which signs and verifies
+ * Firebase-shaped tokens in-process so the backend can be exercised without network access.
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verifies the token's signature and standard claims.
+     *
+     * @throws Exception if the token is invalid, expired or could not be verified
+     */
+    VerifiedToken verify(String idToken) throws Exception;
+}
@@ -0,0 +1,14 @@
+package com.get.referred.referralplatform.security;
+
+/**
+ * Provider-independent view of a verified ID token.
+ *
+ * @param uid                   the Firebase UID ({@code sub} claim)
+ * @param email                 the email claim, may be null
+ * @param emailVerified         the {@code email_verified} claim
+ * @param signInProvider        the {@code firebase.sign_in_provider} claim, e.g. {@code google.com} or {@code password}
+ * @param expiresAtEpochSeconds the {@code exp} claim
+ */
+public record VerifiedToken(String uid, String email, boolean emailVerified, String signInProvider,
+                            long expiresAtEpochSeconds) {
+}
@@ -3,8 +3,9 @@ package com.get.referred.referralplatform.service;
 import com.get.referred.referralplatform.model.User;
 import com.get.referred.referralplatform.model.User.AuthProvider;
 import com.get.referred.referralplatform.repository.UserRepository;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import com.get.referred.referralplatform.security.SessionTokenService;
+import com.get.referred.referralplatform.security.TokenVerifier;
+import com.get.referred.referralplatform.security.VerifiedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -20,21 +21,23 @@ import com.get.referred.referralplatform.dto.UserDTO;
 @Service
 public class AuthService {
     private final UserService userService;
-    private final FirebaseAuth firebaseAuth;
+    private final TokenVerifier tokenVerifier;
+    private final SessionTokenService sessionTokenService;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
-    public AuthService(UserService userService, FirebaseAuth firebaseAuth) {
+    public AuthService(UserService userService, TokenVerifier tokenVerifier, SessionTokenService sessionTokenService) {
         this.userService = userService;
-        this.firebaseAuth = firebaseAuth;
+        this.tokenVerifier = tokenVerifier;
+        this.sessionTokenService = sessionTokenService;
     }
 
     public Map<String, Object> authenticateUser(String idToken) throws Exception {
         try {
             // 1. Verify the ID token
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            String firebaseUid = decodedToken.getUid();
-            String email = decodedToken.getEmail();
-            boolean isEmailVerified = decodedToken.isEmailVerified();
+            VerifiedToken decodedToken = tokenVerifier.verify(idToken);
+            String firebaseUid = decodedToken.uid();
+            String email = decodedToken.email();
+            boolean isEmailVerified = decodedToken.emailVerified();
 
             logger.info("Authenticating user with Firebase UID: {}", firebaseUid);
 
@@ -61,11 +64,7 @@ public class AuthService {
                     );
                 }
 
-                return Map.of(
-                    "user", UserDTO.fromEntity(user),
-                    "requiresVerification", false,
-                    "authProvider", user.getAuthProvider().name()
-                );
+                return successResponse(user);
             } else {
                 // Create new user
                 logger.info("Creating new user for Firebase UID: {}", firebaseUid);
@@ -74,14 +73,7 @@ public class AuthService {
                 newUser.setEmail(email);
                 
                 // Set auth provider and verification status using Firebase token claim
-                Object firebaseClaim = decodedToken.getClaims().get("firebase");
-                String signInProvider = null;
-                if (firebaseClaim instanceof Map) {
-                    Object providerObj = ((Map<?, ?>) firebaseClaim).get("sign_in_provider");
-                    if (providerObj != null) {
-                        signInProvider = providerObj.toString();
-                    }
-                }
+                String signInProvider = decodedToken.signInProvider();
                 if ("google.com".equals(signInProvider)) {
                     newUser.setAuthProvider(User.AuthProvider.GOOGLE);
                     newUser.setEmailVerified(true); // Google emails are always verified
@@ -108,11 +100,7 @@ public class AuthService {
                 }
 
                 logger.info("Successfully created new user with Firebase UID: {}", firebaseUid);
-                return Map.of(
-                    "user", UserDTO.fromEntity(newUser),
-                    "requiresVerification", false,
-                    "authProvider", newUser.getAuthProvider().name()
-                );
+                return successResponse(newUser);
             }
         } catch (Exception e) {
             logger.error("Error authenticating user: {}", e.getMessage(), e);
@@ -120,10 +108,22 @@ public class AuthService {
         }
     }
 
+    private Map<String, Object> successResponse(User user) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("user", UserDTO.fromEntity(user));
+        response.put("requiresVerification", false);
+        response.put("authProvider", user.getAuthProvider().name());
+        // Optionally hand out a locally signed session token so later requests skip Firebase verification
+        if (sessionTokenService.isEnabled()) {
+            response.put("sessionToken", sessionTokenService.issue(user.getFirebaseUid(), user.getId(), user.getRole().name()));
+        }
+        return response;
+    }
+
     public User getUserFromToken(String idToken) throws Exception {
         try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            String firebaseUid = decodedToken.getUid();
+            VerifiedToken decodedToken = tokenVerifier.verify(idToken);
+            String firebaseUid = decodedToken.uid();
             
             return userService.findByFirebaseUid(firebaseUid)
                 .orElseThrow(() -> new Exception("User not found"));
@@ -0,0 +1,122 @@
+package com.get.referred.referralplatform.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns after the JSON properties of
+ * {@code POST /api/referrals} (case-insensitive, any order): fields are separated by commas and may
+ * be enclosed in double quotes to hold commas, quotes (doubled) or line breaks.
+ */
+class CsvReferralImportRows implements ReferralImportRows {
+    private static final Map<String, BiConsumer<ReferralRequestDTO, String>> COLUMNS = new LinkedHashMap<>();
+    static {
+        COLUMNS.put("jobtitle", ReferralRequestDTO::setJobTitle);
+        COLUMNS.put("companyname", ReferralRequestDTO::setCompanyName);
+        COLUMNS.put("jobid", ReferralRequestDTO::setJobId);
+        COLUMNS.put("joblink", ReferralRequestDTO::setJobLink);
+        COLUMNS.put("resumelink", ReferralRequestDTO::setResumeLink);
+        COLUMNS.put("githublink", ReferralRequestDTO::setGithubLink);
+        COLUMNS.put("linkedinlink", ReferralRequestDTO::setLinkedinLink);
+    }
+
+    private final Reader reader;
+    private final List<BiConsumer<ReferralRequestDTO, String>> columns = new ArrayList<>();
+    private int number;
+
+    /**
+     * Reads the header row.
+     *
+     * @throws IllegalArgumentException if the header is missing, names an unknown column or lacks a required one
+     */
+    CsvReferralImportRows(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body is empty; expected a header row");
+        }
+        List<String> names = new ArrayList<>();
+        for (String column : header) {
+            // Spreadsheet exports often start with a byte order mark
+            String name = column.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            BiConsumer<ReferralRequestDTO, String> setter = COLUMNS.get(name);
+            if (setter == null) {
+                throw new IllegalArgumentException("Unknown CSV column '" + column.trim() + "'; expected "
+                    + "jobTitle, companyName, jobId, jobLink, resumeLink, githubLink, linkedinLink");
+            }
+            names.add(name);
+            columns.add(setter);
+        }
+        if (!names.contains("jobtitle") || !names.contains("companyname")) {
+            throw new IllegalArgumentException("CSV header must include jobTitle and companyName");
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+        } while (fields != null && fields.size() == 1 && fields.get(0).isBlank());
+        if (fields == null) {
+            return null;
+        }
+        number++;
+        if (fields.size() != columns.size()) {
+            return new Row(number, null, "Expected " + columns.size() + " fields but found " + fields.size());
+        }
+        ReferralRequestDTO data = new ReferralRequestDTO();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            columns.get(i).accept(data, value.isEmpty() ? null : value);
+        }
+        return new Row(number, data, null);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        while (c != -1) {
+            if (++length > MAX_ROW_LENGTH) {
+                throw new IllegalArgumentException("Row " + (number + 1) + " is longer than " + MAX_ROW_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        // Closing quote; look at the character after it unquoted
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
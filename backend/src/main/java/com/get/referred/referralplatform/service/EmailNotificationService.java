@@ -0,0 +1,85 @@
+package com.get.referred.referralplatform.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.EmailOutboxRepository;
+
+/**
+ * Queues referral notification emails in the outbox.
+ *
+ * Every method joins the caller's transaction, so an email is queued if and only if the change it
+ * describes commits. Delivery happens later on {@link EmailOutboxDispatcher}'s scheduler thread.
+ */
+@Service
+public class EmailNotificationService {
+    private final EmailOutboxRepository outboxRepository;
+    private final boolean enabled;
+
+    public EmailNotificationService(EmailOutboxRepository outboxRepository,
+                                    @Value("${notifications.email.enabled:false}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.enabled = enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void referralCreated(ReferralRequest request) {
+        enqueue(request.getJobSeeker(),
+            "Your referral request for " + request.getCompanyName() + " was submitted",
+            "We received your referral request for " + describe(request) + ".\n"
+                + "You will be notified as soon as an employee picks it up.");
+    }
+
+    /**
+     * One email for a batch of imported requests rather than one per request.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void referralsImported(List<ReferralRequest> requests) {
+        if (requests.size() <= 1) {
+            requests.forEach(this::referralCreated);
+            return;
+        }
+        StringBuilder body = new StringBuilder("We received your referral requests for:\n");
+        for (ReferralRequest request : requests) {
+            body.append("- ").append(describe(request)).append('\n');
+        }
+        body.append("You will be notified as soon as an employee picks one up.");
+        enqueue(requests.get(0).getJobSeeker(),
+            "Your " + requests.size() + " referral requests were submitted", body.toString());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void referralAccepted(ReferralRequest request) {
+        User employee = request.getEmployee();
+        String by = employee != null && employee.getName() != null ? " by " + employee.getName() : "";
+        enqueue(request.getJobSeeker(),
+            "Your referral request for " + request.getCompanyName() + " was accepted",
+            "Your referral request for " + describe(request) + " was accepted" + by + ".");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void referralStatusChanged(ReferralRequest request) {
+        enqueue(request.getJobSeeker(),
+            "Update on your referral request for " + request.getCompanyName(),
+            "The status of your referral request for " + describe(request) + " is now "
+                + request.getStatus() + ".");
+    }
+
+    private static String describe(ReferralRequest request) {
+        return request.getJobTitle() + " at " + request.getCompanyName();
+    }
+
+    private void enqueue(User recipient, String subject, String body) {
+        if (!enabled || recipient == null || recipient.getEmail() == null) {
+            return;
+        }
+        outboxRepository.save(new EmailOutbox(recipient.getEmail(), subject, body));
+    }
+}
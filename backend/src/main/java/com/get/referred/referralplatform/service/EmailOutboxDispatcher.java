@@ -0,0 +1,155 @@
+package com.get.referred.referralplatform.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+import com.get.referred.referralplatform.repository.EmailOutboxRepository;
+
+/**
+ * Drains the email outbox in batches on the scheduler thread.
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances can run side by side, and
+ * leased by moving its next attempt {@code lease-seconds} ahead; that transaction commits before anything is
+ * sent, so no connection or row lock is held during the SMTP round trip. The batch is handed to the mail
+ * sender in one call, which delivers it over a single SMTP connection, and the outcome is recorded in a second
+ * transaction. Failed messages are retried with exponential backoff until {@code max-attempts} is reached.
+ *
+ * Delivery is at least once: if the instance stops, or recording fails, after the mail went out, the lease
+ * expires and the batch is sent again.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.email.enabled", havingValue = "true")
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${notifications.email.from:no-reply@get-referred.app}") String from,
+                                 @Value("${notifications.email.batch-size:50}") int batchSize,
+                                 @Value("${notifications.email.max-attempts:8}") int maxAttempts,
+                                 @Value("${notifications.email.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                                 @Value("${notifications.email.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                                 @Value("${notifications.email.lease-seconds:300}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.email.poll-interval-ms:5000}")
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Sends one batch of due messages and returns how many were claimed.
+     */
+    int dispatchBatch() {
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.claimDue(EmailOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+            due.forEach(entry -> entry.lease(now.plus(lease)));
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+        Map<Object, Exception> failures = Collections.emptyMap();
+        Exception batchFailure = null;
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            // Connection or authentication problems: nothing in the batch was delivered
+            batchFailure = e;
+        }
+
+        Map<Long, Exception> outcomes = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            outcomes.put(batch.get(i).getId(), batchFailure != null ? batchFailure : failures.get(messages[i]));
+        }
+        record(outcomes);
+        return batch.size();
+    }
+
+    // A null outcome means the message was delivered
+    private void record(Map<Long, Exception> outcomes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int failed = 0;
+            for (EmailOutbox entry : outboxRepository.findAllById(outcomes.keySet())) {
+                Exception failure = outcomes.get(entry.getId());
+                if (failure == null) {
+                    entry.markSent(now);
+                } else {
+                    entry.markFailed(failure.getMessage(), now.plus(backoff(entry.getAttempts() + 1)), maxAttempts);
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                logger.warn("Failed to send {} of {} outbox emails", failed, outcomes.size());
+            }
+        });
+    }
+
+    Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox entry) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(entry.getRecipient());
+        message.setSubject(entry.getSubject());
+        message.setText(entry.getBody());
+        return message;
+    }
+}
@@ -0,0 +1,39 @@
+package com.get.referred.referralplatform.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+
+/**
+ * One JSON object per line, with the same properties as the body of {@code POST /api/referrals}.
+ */
+class NdjsonReferralImportRows implements ReferralImportRows {
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private int number;
+
+    NdjsonReferralImportRows(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Row next() throws IOException {
+        String line;
+        do {
+            line = ReferralImportRows.readLine(reader, number + 1);
+        } while (line != null && line.isBlank());
+        if (line == null) {
+            return null;
+        }
+        number++;
+        try {
+            return new Row(number, objectMapper.readValue(line, ReferralRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.get.referred.referralplatform.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.get.referred.referralplatform.dto.ReferralBatchResult;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+
+/**
+ * Claims or moves many referral requests in one call, with set-based conditional updates.
+ *
+ * Rules, enforced by the where clauses rather than per entity:
+ * ACCEPTED claims unclaimed PENDING requests for the caller;
+ * REJECTED does the same for unclaimed PENDING requests, or rejects ACCEPTED requests assigned to the caller;
+ * HIRED applies to ACCEPTED requests assigned to the caller.
+ * Admins may reject or hire requests assigned to anyone. Nothing moves back to PENDING.
+ * Employees only see requests addressed to their company or assigned to them; any other id is reported
+ * as NOT_FOUND and never reaches the updates. Admins see every request.
+ */
+@Service
+public class ReferralBatchService {
+    private static final Set<Status> ASSIGNED = Set.of(Status.ACCEPTED);
+
+    private final ReferralRequestRepository referralRequestRepository;
+    private final EmailNotificationService emailNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxIds;
+
+    public ReferralBatchService(ReferralRequestRepository referralRequestRepository,
+                                EmailNotificationService emailNotificationService,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${referrals.batch.max-ids:100}") int maxIds) {
+        this.referralRequestRepository = referralRequestRepository;
+        this.emailNotificationService = emailNotificationService;
+        this.eventPublisher = eventPublisher;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Moves every request in {@code ids} that the rules allow to {@code target} and reports one result
+     * per distinct id, in request order.
+     *
+     * @throws IllegalArgumentException if there are no ids, too many, or the target cannot be reached
+     */
+    @Transactional
+    public List<ReferralBatchResult> transition(List<Long> ids, Status target, User employee, String companyKey,
+                                                boolean admin) {
+        Set<Long> distinctIds = ids == null ? Set.of()
+            : ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one referral request id is required");
+        }
+        if (distinctIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " referral requests can be updated at once");
+        }
+        if (target == null || target == Status.PENDING) {
+            throw new IllegalArgumentException("Status must be ACCEPTED, REJECTED or HIRED");
+        }
+
+        Map<Long, Status> before = referralRequestRepository.findStatusesByIdIn(distinctIds).stream()
+            .filter(view -> admin || visibleTo(view, employee, companyKey))
+            .collect(Collectors.toMap(ReferralRequestRepository.StatusView::getId, ReferralRequestRepository.StatusView::getStatus));
+        Map<Long, ReferralRequest> after = Map.of();
+        if (!before.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            if (target != Status.HIRED) {
+                referralRequestRepository.claimAllIfPending(before.keySet(), employee, companyKey, admin, Status.PENDING, target, now);
+            }
+            if (target != Status.ACCEPTED) {
+                referralRequestRepository.transitionAll(before.keySet(), ASSIGNED, target, employee, admin, now);
+            }
+            after = referralRequestRepository.findByIdIn(before.keySet()).stream()
+                .collect(Collectors.toMap(ReferralRequest::getId, Function.identity()));
+        }
+
+        List<ReferralBatchResult> results = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            ReferralRequest request = after.get(id);
+            if (request == null) {
+                results.add(ReferralBatchResult.notFound(id));
+            } else if (movedBy(request, before.get(id), target, employee, admin)) {
+                results.add(ReferralBatchResult.updated(id, target.name()));
+                notify(request, before.get(id));
+            } else {
+                results.add(ReferralBatchResult.conflict(id, request.getStatus().name(), conflictMessage(request, target)));
+            }
+        }
+        return results;
+    }
+
+    private static boolean visibleTo(ReferralRequestRepository.StatusView view, User employee, String companyKey) {
+        return Objects.equals(view.getCompanyKey(), companyKey) || Objects.equals(view.getEmployeeId(), employee.getId());
+    }
+
+    // Compared with the snapshot taken before the updates, so a concurrent caller's claim is not reported as ours
+    private static boolean movedBy(ReferralRequest request, Status before, Status target, User employee, boolean admin) {
+        if (request.getStatus() != target || before == target) {
+            return false;
+        }
+        User assigned = request.getEmployee();
+        return (assigned != null && Objects.equals(assigned.getId(), employee.getId()))
+            || (admin && ASSIGNED.contains(before));
+    }
+
+    private void notify(ReferralRequest request, Status before) {
+        if (request.getStatus() == Status.ACCEPTED) {
+            emailNotificationService.referralAccepted(request);
+        } else {
+            emailNotificationService.referralStatusChanged(request);
+        }
+        ReferralEvent.Type type = before == Status.PENDING ? ReferralEvent.Type.CLAIMED : ReferralEvent.Type.STATUS_CHANGED;
+        eventPublisher.publishEvent(ReferralEvent.of(type, request));
+    }
+
+    private static String conflictMessage(ReferralRequest request, Status target) {
+        if (request.getStatus() == target) {
+            return "Referral request is already " + target;
+        }
+        if (ASSIGNED.contains(request.getStatus())) {
+            return "Referral request is assigned to another employee";
+        }
+        return "A " + request.getStatus() + " referral request cannot be changed to " + target;
+    }
+}
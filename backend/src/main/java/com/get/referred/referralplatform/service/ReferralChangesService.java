@@ -0,0 +1,140 @@
+package com.get.referred.referralplatform.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+import com.get.referred.referralplatform.dto.ReferralChanges;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.CompanyKey;
+import com.get.referred.referralplatform.model.ReferralTombstone;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+
+/**
+ * Delta sync for the referral lists: what changed for a user since a cursor, so clients with long
+ * histories only download the difference.
+ *
+ * Changed requests (by {@code updated_at}) and tombstones (by {@code deleted_at}) form one stream ordered by
+ * {@code (timestamp, id)}; ids are unique across both, so a single cursor covers the two. Each is read with
+ * one keyset query per scope (job seeker, employee, company) and the pages are merged here. Timestamps are taken
+ * before commit, so the newest {@code settle} interval is held back: a transaction that commits late still
+ * lands after every cursor handed out so far, as long as it commits within that interval.
+ */
+@Service
+public class ReferralChangesService {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralChangesService.class);
+    private static final PageCursor BEGINNING = new PageCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    private static final Comparator<PageCursor> OLDEST_FIRST =
+        Comparator.comparing(PageCursor::createdAt).thenComparing(PageCursor::id);
+
+    private final ReferralRequestRepository referralRequestRepository;
+    private final ReferralTombstoneRepository referralTombstoneRepository;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    public ReferralChangesService(ReferralRequestRepository referralRequestRepository,
+                                  ReferralTombstoneRepository referralTombstoneRepository,
+                                  @Value("${referrals.changes.settle-seconds:5}") long settleSeconds,
+                                  @Value("${referrals.changes.tombstone-retention-days:30}") long tombstoneRetentionDays) {
+        this.referralRequestRepository = referralRequestRepository;
+        this.referralTombstoneRepository = referralTombstoneRepository;
+        this.settle = Duration.ofSeconds(settleSeconds);
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    /**
+     * Returns up to {@code page.size()} changes after {@code page.after()} (from the beginning when absent)
+     * among the requests the user created, handles, or that target their company.
+     */
+    @Transactional(readOnly = true)
+    public ReferralChanges changesSince(Long userId, String companyName, PageQuery page) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime upTo = now.minus(settle);
+        PageCursor after = page.after();
+        // Tombstones older than the retention period are gone, so an older cursor could miss deletions
+        boolean reset = after != null && after.createdAt().isBefore(now.minus(tombstoneRetention));
+        if (after == null || reset) {
+            after = BEGINNING;
+        }
+
+        String companyKey = CompanyKey.of(companyName);
+        int limit = page.size() + 1;
+        Pageable pageable = PageRequest.of(0, limit);
+        LocalDateTime afterAt = after.createdAt();
+        Long afterId = after.id();
+        List<ReferralRequestDTO> rows = union(List.of(
+            referralRequestRepository.findChangesByJobSeekerId(userId, afterAt, afterId, upTo, pageable),
+            referralRequestRepository.findChangesByEmployeeId(userId, afterAt, afterId, upTo, pageable),
+            companyKey == null ? List.of()
+                : referralRequestRepository.findChangesByCompanyKey(companyKey, afterAt, afterId, upTo, pageable)),
+            row -> new PageCursor(row.getUpdatedAt(), row.getId()), limit);
+        List<ReferralTombstone> tombstones = union(List.of(
+            referralTombstoneRepository.findChangesByJobSeekerId(userId, afterAt, afterId, upTo, pageable),
+            referralTombstoneRepository.findChangesByEmployeeId(userId, afterAt, afterId, upTo, pageable),
+            companyKey == null ? List.of()
+                : referralTombstoneRepository.findChangesByCompanyKey(companyKey, afterAt, afterId, upTo, pageable)),
+            tombstone -> new PageCursor(tombstone.getDeletedAt(), tombstone.getId()), limit);
+
+        List<ReferralRequestDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        PageCursor last = null;
+        int r = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < page.size() && (r < rows.size() || t < tombstones.size())) {
+            boolean takeRow = t == tombstones.size()
+                || (r < rows.size() && precedes(rows.get(r), tombstones.get(t)));
+            if (takeRow) {
+                ReferralRequestDTO row = rows.get(r++);
+                changed.add(row);
+                last = new PageCursor(row.getUpdatedAt(), row.getId());
+            } else {
+                ReferralTombstone tombstone = tombstones.get(t++);
+                deleted.add(tombstone.getId());
+                last = new PageCursor(tombstone.getDeletedAt(), tombstone.getId());
+            }
+        }
+        boolean hasMore = r < rows.size() || t < tombstones.size();
+        // Once caught up, everything up to the settle horizon has been seen, changes or not
+        PageCursor next = hasMore ? last
+            : after.createdAt().isAfter(upTo) ? after : new PageCursor(upTo, Long.MAX_VALUE);
+        return new ReferralChanges(changed, deleted, next.encode(), hasMore, reset);
+    }
+
+    // The first limit entries of the per-scope pages combined; a request seen through several scopes counts
+    // once. Each page holds the first limit entries of its scope, so none of the combined ones can be missing
+    private static <T> List<T> union(List<List<T>> pages, Function<T, PageCursor> position, int limit) {
+        TreeMap<PageCursor, T> merged = new TreeMap<>(OLDEST_FIRST);
+        pages.forEach(entries -> entries.forEach(entry -> merged.put(position.apply(entry), entry)));
+        return merged.values().stream().limit(limit).toList();
+    }
+
+    private static boolean precedes(ReferralRequestDTO row, ReferralTombstone tombstone) {
+        int byTime = row.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime < 0 || (byTime == 0 && row.getId() < tombstone.getId());
+    }
+
+    @Scheduled(fixedDelayString = "${referrals.changes.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = referralTombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} referral tombstones", purged);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.get.referred.referralplatform.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.model.CompanyKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process fan-out of committed referral events to Server-Sent Events subscribers, keyed by company.
+ *
+ * An idle subscriber is only an async request and a small buffer; no thread is held while nothing is sent.
+ * Events are serialized once per change and queued per subscriber in a bounded buffer that drops the oldest
+ * entry when full, so a slow client never holds up the committing request or other subscribers. Writes run on
+ * Boot's applicationTaskExecutor, one drain at a time per subscriber: virtual threads when
+ * {@code spring.threads.virtual.enabled=true}, its bounded pool otherwise. A client that lost events is told how many, so it can
+ * catch up through /api/referrals/changes. Events only reach subscribers connected to this node.
+ */
+@Service
+public class ReferralEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralEventHub.class);
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor sender;
+    private final ObjectMapper objectMapper;
+    private final Counter droppedEvents;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public ReferralEventHub(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor sender,
+                            @Value("${referrals.events.buffer-size:64}") int bufferSize,
+                            @Value("${referrals.events.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.droppedEvents = Counter.builder("referral.events.dropped")
+            .description("Referral events dropped because a subscriber's buffer was full")
+            .register(meterRegistry);
+        meterRegistry.gauge("referral.events.subscribers", subscriberCount);
+    }
+
+    /**
+     * Opens a stream of events for the given company.
+     *
+     * @throws IllegalArgumentException if the company name is blank
+     */
+    public SseEmitter subscribe(String companyName) {
+        String companyKey = CompanyKey.of(companyName);
+        if (companyKey == null) {
+            throw new IllegalArgumentException("Set your company name to receive referral events");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(companyKey, emitter);
+        subscribers.compute(companyKey, (key, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        // Commits the response headers right away, so clients and proxies see the stream open
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    // After commit only: subscribers must never see a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ReferralEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.companyKey());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event().name(event.type().name()).data(objectMapper.writeValueAsString(event)).build();
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize referral event for request {}: {}", event.id(), e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(frame);
+        }
+    }
+
+    // Keeps idle connections open through proxies and notices clients that went away
+    @Scheduled(fixedDelayString = "${referrals.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.companyKey, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private final class Subscriber {
+        private final String companyKey;
+        private final SseEmitter emitter;
+        // Guards the fields below; a lock rather than synchronized so waiting virtual threads are not pinned
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private int dropped;
+
+        Subscriber(String companyKey, SseEmitter emitter) {
+            this.companyKey = companyKey;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            boolean startDrain;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped++;
+                    droppedEvents.increment();
+                }
+                buffer.addLast(frame);
+                startDrain = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (startDrain) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void offerHeartbeat() {
+            lock.lock();
+            try {
+                if (draining || closed) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            offer(HEARTBEAT);
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> frame;
+                int lost;
+                lock.lock();
+                try {
+                    frame = buffer.pollFirst();
+                    if (frame == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                    lost = dropped;
+                    dropped = 0;
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (lost > 0) {
+                        emitter.send(SseEmitter.event().name("DROPPED").data("{\"count\":" + lost + "}"));
+                    }
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away or the emitter already completed
+                    emitter.completeWithError(e);
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Marks the subscriber closed and drops its buffer; returns false if it was closed already.
+         */
+        boolean close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                buffer.clear();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
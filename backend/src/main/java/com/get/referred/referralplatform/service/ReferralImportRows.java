@@ -0,0 +1,46 @@
+package com.get.referred.referralplatform.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+
+/**
+ * Rows of a bulk import body, parsed one at a time as they arrive.
+ */
+public interface ReferralImportRows {
+    // Longest row accepted, so a body without line breaks cannot be buffered whole
+    int MAX_ROW_LENGTH = 64 * 1024;
+
+    /**
+     * A parsed row; {@code data} is null and {@code error} says why when the row could not be parsed.
+     */
+    record Row(int number, ReferralRequestDTO data, String error) {
+    }
+
+    /**
+     * Returns the next non-blank row, or null at the end of the body.
+     */
+    Row next() throws IOException;
+
+    /**
+     * Reads up to the next line break or the end of the body; null if the body is already exhausted.
+     */
+    static String readLine(Reader reader, int rowNumber) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+                if (line.length() > MAX_ROW_LENGTH) {
+                    throw new IllegalArgumentException("Row " + rowNumber + " is longer than " + MAX_ROW_LENGTH + " characters");
+                }
+            }
+            c = reader.read();
+        }
+        return line.toString();
+    }
+}
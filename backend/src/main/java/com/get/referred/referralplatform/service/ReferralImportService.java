@@ -0,0 +1,221 @@
+package com.get.referred.referralplatform.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.dto.ReferralImportResult;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.exception.ConflictException;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+
+/**
+ * Creates referral requests in bulk from a CSV or NDJSON body, read row by row as it arrives.
+ *
+ * Rows are handled in batches: one query finds which companies already have a pending request from
+ * the job seeker, then the new requests are inserted together and committed in one transaction.
+ * If a concurrent request wins the pending-request constraint in the meantime, that batch is
+ * retried one row at a time so only the conflicting rows are reported as duplicates.
+ */
+@Service
+public class ReferralImportService {
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_FIELD_LENGTH = 255;
+
+    private final ReferralRequestRepository referralRequestRepository;
+    private final ReferralRequestService referralRequestService;
+    private final EmailNotificationService emailNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxRows;
+
+    public ReferralImportService(ReferralRequestRepository referralRequestRepository,
+                                 ReferralRequestService referralRequestService,
+                                 EmailNotificationService emailNotificationService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${referrals.import.batch-size:100}") int batchSize,
+                                 @Value("${referrals.import.max-rows:1000}") int maxRows) {
+        this.referralRequestRepository = referralRequestRepository;
+        this.referralRequestService = referralRequestService;
+        this.emailNotificationService = emailNotificationService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Starts reading a body; for CSV this consumes the header row.
+     *
+     * @throws IllegalArgumentException if the content type is not supported or the CSV header is invalid
+     */
+    public ReferralImportRows openRows(Reader body, MediaType contentType) throws IOException {
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(CSV))) {
+            return new CsvReferralImportRows(body);
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+            return new NdjsonReferralImportRows(body, objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType + "; use " + CSV + " or " + NDJSON);
+    }
+
+    /**
+     * Imports every row as a pending request of {@code jobSeeker}, passing one result per row to
+     * {@code results} in row order, a batch at a time once that batch has committed.
+     */
+    public void importRows(User jobSeeker, ReferralImportRows rows, Consumer<List<ReferralImportResult>> results)
+            throws IOException {
+        List<ReferralImportRows.Row> batch = new ArrayList<>(batchSize);
+        ReferralImportRows.Row row;
+        while ((row = rows.next()) != null) {
+            if (row.number() > maxRows) {
+                importBatch(jobSeeker, batch, results);
+                results.accept(List.of(ReferralImportResult.error("Imports are limited to " + maxRows + " rows; row "
+                    + row.number() + " and later were not read")));
+                return;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                importBatch(jobSeeker, batch, results);
+                batch.clear();
+            }
+        }
+        importBatch(jobSeeker, batch, results);
+    }
+
+    private void importBatch(User jobSeeker, List<ReferralImportRows.Row> batch,
+                             Consumer<List<ReferralImportResult>> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ReferralImportResult[] outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> insertBatch(jobSeeker, batch));
+        } catch (DataIntegrityViolationException e) {
+            outcomes = insertOneByOne(jobSeeker, batch);
+        }
+        results.accept(List.of(outcomes));
+    }
+
+    private ReferralImportResult[] insertBatch(User jobSeeker, List<ReferralImportRows.Row> batch) {
+        ReferralImportResult[] outcomes = new ReferralImportResult[batch.size()];
+        List<ReferralRequest> requests = new ArrayList<>(batch.size());
+        Set<String> pendingKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ReferralImportRows.Row row = batch.get(i);
+            String error = row.error() != null ? row.error() : validate(row.data());
+            if (error != null) {
+                outcomes[i] = ReferralImportResult.invalid(row.number(), error);
+                requests.add(null);
+            } else {
+                ReferralRequest request = newPendingRequest(jobSeeker, row.data());
+                pendingKeys.add(request.getPendingKey());
+                requests.add(request);
+            }
+        }
+
+        // One query finds the duplicates already in the database; existing then also collects this batch's keys
+        Set<String> existing = pendingKeys.isEmpty() ? new HashSet<>()
+            : new HashSet<>(referralRequestRepository.findPendingKeys(jobSeeker.getId(), pendingKeys));
+        List<ReferralRequest> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ReferralRequest request = requests.get(i);
+            if (request == null) {
+                continue;
+            }
+            if (!existing.add(request.getPendingKey())) {
+                outcomes[i] = ReferralImportResult.duplicate(batch.get(i).number(), ReferralRequestService.DUPLICATE_PENDING_MESSAGE);
+                requests.set(i, null);
+            } else {
+                created.add(request);
+            }
+        }
+        referralRequestRepository.saveAll(created);
+        referralRequestRepository.flush();
+        emailNotificationService.referralsImported(created);
+        created.forEach(request -> eventPublisher.publishEvent(ReferralEvent.of(ReferralEvent.Type.CREATED, request)));
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) != null) {
+                outcomes[i] = ReferralImportResult.created(batch.get(i).number(), requests.get(i).getId());
+            }
+        }
+        return outcomes;
+    }
+
+    private ReferralImportResult[] insertOneByOne(User jobSeeker, List<ReferralImportRows.Row> batch) {
+        ReferralImportResult[] outcomes = new ReferralImportResult[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            ReferralImportRows.Row row = batch.get(i);
+            String error = row.error() != null ? row.error() : validate(row.data());
+            if (error != null) {
+                outcomes[i] = ReferralImportResult.invalid(row.number(), error);
+                continue;
+            }
+            try {
+                ReferralRequest created = referralRequestService.createReferralRequest(newPendingRequest(jobSeeker, row.data()));
+                outcomes[i] = ReferralImportResult.created(row.number(), created.getId());
+            } catch (ConflictException e) {
+                outcomes[i] = ReferralImportResult.duplicate(row.number(), e.getMessage());
+            }
+        }
+        return outcomes;
+    }
+
+    private static ReferralRequest newPendingRequest(User jobSeeker, ReferralRequestDTO data) {
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setJobTitle(data.getJobTitle().trim());
+        request.setJobId(data.getJobId());
+        request.setJobLink(data.getJobLink());
+        request.setCompanyName(data.getCompanyName().trim());
+        request.setGithubUrl(data.getGithubLink());
+        request.setResumeLink(data.getResumeLink());
+        request.setLinkedinUrl(data.getLinkedinLink());
+        request.setStatus(Status.PENDING);
+        request.setUpdatedAt(request.getCreatedAt());
+        return request;
+    }
+
+    private static String validate(ReferralRequestDTO data) {
+        if (data == null) {
+            return "Row is empty";
+        }
+        if (data.getJobTitle() == null || data.getJobTitle().isBlank()) {
+            return "Job title is required";
+        }
+        if (data.getCompanyName() == null || data.getCompanyName().isBlank()) {
+            return "Company name is required";
+        }
+        for (String value : new String[] {data.getJobTitle(), data.getCompanyName(), data.getJobId(), data.getJobLink(),
+                data.getGithubLink(), data.getResumeLink(), data.getLinkedinLink()}) {
+            if (value != null && value.length() > MAX_FIELD_LENGTH) {
+                return "Values must be at most " + MAX_FIELD_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+}
@@ -3,45 +3,105 @@ package com.get.referred.referralplatform.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import com.get.referred.referralplatform.exception.ConflictException;
+import com.get.referred.referralplatform.model.CompanyKey;
 import com.get.referred.referralplatform.model.ReferralRequest;
 import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.ReferralTombstone;
 import com.get.referred.referralplatform.model.User;
 import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.ListVersion;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.dto.PageQuery;
 import com.get.referred.referralplatform.dto.ReferralRequestDTO;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class ReferralRequestService {
+    private static final String REQUEST_MEMO_PREFIX = ReferralRequestService.class.getName() + ".request.";
+    static final String DUPLICATE_PENDING_MESSAGE = "A pending referral request for this company already exists.";
+
     private final ReferralRequestRepository referralRequestRepository;
-    private final UserService userService;
+    private final ReferralTombstoneRepository referralTombstoneRepository;
+    private final EmailNotificationService emailNotificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer entityMappingTimer;
+    private final Timer projectionPageTimer;
 
-    public ReferralRequestService(ReferralRequestRepository referralRequestRepository, UserService userService) {
+    public ReferralRequestService(ReferralRequestRepository referralRequestRepository,
+                                  ReferralTombstoneRepository referralTombstoneRepository,
+                                  EmailNotificationService emailNotificationService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry) {
         this.referralRequestRepository = referralRequestRepository;
-        this.userService = userService;
+        this.referralTombstoneRepository = referralTombstoneRepository;
+        this.emailNotificationService = emailNotificationService;
+        this.eventPublisher = eventPublisher;
+        this.entityMappingTimer = mappingTimer(meterRegistry, "entity");
+        this.projectionPageTimer = mappingTimer(meterRegistry, "projection");
+    }
+
+    // One name and one set of tag keys for both paths; Prometheus rejects a name registered with differing keys
+    private static Timer mappingTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("referral.dto.mapping")
+            .description("Time spent turning referral query results into DTO lists")
+            .tag("path", path)
+            .register(meterRegistry);
     }
 
     @Transactional
     public ReferralRequest createReferralRequest(ReferralRequest request) {
-        // Check if a pending referral already exists for this job seeker and company
-        List<ReferralRequest> existing = referralRequestRepository.findByJobSeekerId(request.getJobSeeker().getId())
-            .stream().filter(r -> r.getCompanyName().equalsIgnoreCase(request.getCompanyName()) && r.getStatus() == Status.PENDING)
-            .collect(Collectors.toList());
-        if (!existing.isEmpty()) {
-            throw new RuntimeException("A pending referral request for this company already exists.");
-        }
+        LocalDateTime now = LocalDateTime.now();
         request.setStatus(Status.PENDING);
-        request.setCreatedAt(LocalDateTime.now());
+        request.setCreatedAt(now);
+        // Stamped on creation too, so delta sync can follow updated_at alone
+        request.setUpdatedAt(now);
         request.setEmployee(null); // Not claimed yet
         // githubUrl, resumeLink, and linkedinUrl are set by controller
-        return referralRequestRepository.save(request);
+
+        // Check if a pending referral already exists for this job seeker and company
+        if (request.getPendingKey() != null
+                && referralRequestRepository.existsByJobSeekerIdAndPendingKey(request.getJobSeeker().getId(), request.getPendingKey())) {
+            throw new ConflictException(DUPLICATE_PENDING_MESSAGE);
+        }
+        ReferralRequest created;
+        try {
+            // Flush so a concurrent duplicate that passed the check above trips the unique constraint here
+            created = referralRequestRepository.saveAndFlush(request);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(DUPLICATE_PENDING_MESSAGE);
+        }
+        emailNotificationService.referralCreated(created);
+        eventPublisher.publishEvent(ReferralEvent.of(ReferralEvent.Type.CREATED, created));
+        return created;
+    }
+
+    public ListVersion getVersionByJobSeeker(Long jobSeekerId) {
+        return referralRequestRepository.findVersionByJobSeekerId(jobSeekerId);
+    }
+
+    public ListVersion getVersionByCompanyName(String companyName) {
+        return referralRequestRepository.findVersionByCompanyKey(CompanyKey.of(companyName));
     }
 
-    public List<ReferralRequest> getReferralRequestsByJobSeeker(Long jobSeekerId) {
-        return referralRequestRepository.findByJobSeekerId(jobSeekerId);
+    @Transactional(readOnly = true)
+    public CursorPage<ReferralRequestDTO> getReferralRequestsByJobSeeker(Long jobSeekerId, PageQuery page) {
+        return toDTOPage(referralRequestRepository.findPageByJobSeekerId(
+            jobSeekerId, page.afterCreatedAt(), page.afterId(), page.pageable()), page);
     }
 
     public List<ReferralRequest> getReferralRequestsByEmployee(Long employeeId) {
@@ -49,7 +109,7 @@ public class ReferralRequestService {
     }
 
     public Optional<ReferralRequest> getReferralRequestById(Long id) {
-        return referralRequestRepository.findById(id);
+        return findByIdForRequest(id);
     }
 
     @Transactional
@@ -59,7 +119,27 @@ public class ReferralRequestService {
 
         request.setStatus(newStatus);
         request.setUpdatedAt(LocalDateTime.now());
-        return referralRequestRepository.save(request);
+        ReferralRequest updated = referralRequestRepository.save(request);
+        emailNotificationService.referralStatusChanged(updated);
+        eventPublisher.publishEvent(ReferralEvent.of(ReferralEvent.Type.STATUS_CHANGED, updated));
+        return updated;
+    }
+
+    /**
+     * Deletes a request that is still pending and leaves a tombstone for delta sync clients.
+     *
+     * @throws ConflictException if the request has been claimed or decided already
+     */
+    @Transactional
+    public void withdrawReferralRequest(Long id) {
+        ReferralRequest request = findByIdForRequest(id)
+            .orElseThrow(() -> new RuntimeException("Referral request not found"));
+        if (request.getStatus() != Status.PENDING
+                || referralRequestRepository.deleteIfStatus(id, Status.PENDING) == 0) {
+            throw new ConflictException("Only pending referral requests can be withdrawn");
+        }
+        referralTombstoneRepository.save(new ReferralTombstone(request, LocalDateTime.now()));
+        eventPublisher.publishEvent(ReferralEvent.of(ReferralEvent.Type.WITHDRAWN, request));
     }
 
     @Transactional
@@ -76,8 +156,10 @@ public class ReferralRequestService {
         return referralRequestRepository.save(request);
     }
 
-    public List<ReferralRequest> getPendingReferralRequests() {
-        return referralRequestRepository.findByStatus(Status.PENDING);
+    @Transactional(readOnly = true)
+    public CursorPage<ReferralRequestDTO> getPendingReferralRequests(PageQuery page) {
+        return toDTOPage(referralRequestRepository.findPageByStatus(
+            Status.PENDING, page.afterCreatedAt(), page.afterId(), page.pageable()), page);
     }
 
     public List<ReferralRequest> getHiredReferralRequests() {
@@ -86,78 +168,99 @@ public class ReferralRequestService {
 
     // Security-related methods
     public boolean isUserInvolved(Long requestId, Long userId) {
-        return referralRequestRepository.findById(requestId)
-            .map(request -> request.getJobSeeker().getId().equals(userId) || 
-                           request.getEmployee().getId().equals(userId))
+        return findByIdForRequest(requestId)
+            .map(request -> isUser(request.getJobSeeker(), userId) || isUser(request.getEmployee(), userId))
             .orElse(false);
     }
 
     public boolean isEmployee(Long requestId, Long userId) {
-        return referralRequestRepository.findById(requestId)
-            .map(request -> request.getEmployee().getId().equals(userId))
+        return findByIdForRequest(requestId)
+            .map(request -> isUser(request.getEmployee(), userId))
             .orElse(false);
     }
 
     public boolean isJobSeeker(Long requestId, Long userId) {
-        return referralRequestRepository.findById(requestId)
-            .map(request -> request.getJobSeeker().getId().equals(userId))
+        return findByIdForRequest(requestId)
+            .map(request -> isUser(request.getJobSeeker(), userId))
             .orElse(false);
     }
 
-    public List<ReferralRequestDTO> toDTOList(List<ReferralRequest> requests) {
-        return requests.stream().map(ReferralRequestDTO::fromEntity).collect(Collectors.toList());
+    private static boolean isUser(User user, Long userId) {
+        return user != null && user.getId().equals(userId);
     }
 
-    public List<ReferralRequest> getReferralRequestsByJobSeekerFirebaseUid(String firebaseUid) {
-        User user = userService.findByFirebaseUid(firebaseUid)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return referralRequestRepository.findByJobSeekerId(user.getId());
+    /**
+     * Loads a request at most once per HTTP request, so a {@code @PreAuthorize} check and the handler
+     * behind it share a single query. Outside of a web request this is a plain lookup.
+     */
+    private Optional<ReferralRequest> findByIdForRequest(Long id) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return referralRequestRepository.findById(id);
+        }
+        String key = REQUEST_MEMO_PREFIX + id;
+        @SuppressWarnings("unchecked")
+        Optional<ReferralRequest> memo = (Optional<ReferralRequest>) attributes.getAttribute(key, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = referralRequestRepository.findById(id);
+            attributes.setAttribute(key, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    public List<ReferralRequestDTO> toDTOList(List<ReferralRequest> requests) {
+        return entityMappingTimer.record(
+            () -> requests.stream().map(ReferralRequestDTO::fromEntity).collect(Collectors.toList()));
     }
 
-    public List<ReferralRequest> getReferralRequestsByEmployeeFirebaseUid(String firebaseUid) {
-        User user = userService.findByFirebaseUid(firebaseUid)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return referralRequestRepository.findByEmployeeId(user.getId());
+    private CursorPage<ReferralRequestDTO> toDTOPage(List<ReferralRequestDTO> rows, PageQuery page) {
+        return projectionPageTimer.record(
+            () -> CursorPage.of(rows, page, Function.identity(), ReferralRequestDTO::getCreatedAt, ReferralRequestDTO::getId));
     }
 
-    public List<ReferralRequestDTO> filterReferralRequestsByStatusAndUser(String firebaseUid, String statusStr) {
-        User user = userService.findByFirebaseUid(firebaseUid)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public CursorPage<ReferralRequestDTO> filterReferralRequestsByStatusAndUser(Long userId, String statusStr, PageQuery page) {
         ReferralRequest.Status status;
         try {
             status = ReferralRequest.Status.valueOf(statusStr.toUpperCase());
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid status: " + statusStr);
         }
-        List<ReferralRequest> asJobSeeker = referralRequestRepository.findByJobSeekerId(user.getId())
-            .stream().filter(r -> r.getStatus() == status).collect(Collectors.toList());
-        List<ReferralRequest> asEmployee = referralRequestRepository.findByEmployeeId(user.getId())
-            .stream().filter(r -> r.getStatus() == status).collect(Collectors.toList());
-        asEmployee.addAll(asJobSeeker);
-        return toDTOList(asEmployee);
+        return toDTOPage(referralRequestRepository.findPageByUserAndStatus(
+            userId, status, page.afterCreatedAt(), page.afterId(), page.pageable()), page);
     }
 
+    /**
+     * Claims a PENDING request for the employee. Requests addressed to another company are reported as
+     * not found, so their ids cannot be probed; admins may claim any request.
+     */
     @Transactional
-    public ReferralRequest acceptReferralRequest(Long id, User employee) {
+    public ReferralRequest acceptReferralRequest(Long id, User employee, String companyKey, boolean admin) {
+        int claimed = referralRequestRepository.claimIfPending(
+            id, employee, companyKey, admin, Status.PENDING, Status.ACCEPTED, LocalDateTime.now());
+        if (claimed == 0) {
+            boolean visible = referralRequestRepository.findCompanyKeyById(id)
+                .map(key -> admin || key.equals(companyKey))
+                .orElse(false);
+            if (!visible) {
+                throw new RuntimeException("Referral request not found");
+            }
+            throw new ConflictException("Referral request already accepted or not pending");
+        }
         ReferralRequest request = referralRequestRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Referral request not found"));
-        if (request.getEmployee() != null || request.getStatus() != Status.PENDING) {
-            throw new RuntimeException("Referral request already accepted or not pending");
-        }
-        request.setEmployee(employee);
-        request.setStatus(Status.ACCEPTED);
-        request.setUpdatedAt(LocalDateTime.now());
-        referralRequestRepository.save(request);
-        // Email notification will be handled after this
+        emailNotificationService.referralAccepted(request);
+        eventPublisher.publishEvent(ReferralEvent.of(ReferralEvent.Type.CLAIMED, request));
         return request;
     }
 
     public List<ReferralRequest> getUnclaimedReferralRequestsForEmployeeCompany(User employee) {
-        String companyName = employee.getCompanyName();
-        return referralRequestRepository.findByCompanyNameIgnoreCaseAndStatusAndEmployeeIsNull(companyName, Status.PENDING);
+        return referralRequestRepository.findByCompanyKeyAndStatusAndEmployeeIsNull(employee.getCompanyKey(), Status.PENDING);
     }
 
-    public List<ReferralRequest> getReferralRequestsByCompanyName(String companyName) {
-        return referralRequestRepository.findByCompanyNameIgnoreCase(companyName);
+    @Transactional(readOnly = true)
+    public CursorPage<ReferralRequestDTO> getReferralRequestsByCompanyName(String companyName, PageQuery page) {
+        return toDTOPage(referralRequestRepository.findPageByCompanyKey(
+            CompanyKey.of(companyName), page.afterCreatedAt(), page.afterId(), page.pageable()), page);
     }
 }
\ No newline at end of file
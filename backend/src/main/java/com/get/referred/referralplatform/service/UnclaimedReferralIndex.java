@@ -0,0 +1,279 @@
+package com.get.referred.referralplatform.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.CompanyKey;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory read model of the unclaimed PENDING requests of every company, serving
+ * {@code /api/referrals/received?unclaimed=true} without a query.
+ *
+ * Warmed from the table once the application is ready, then kept current by the committed
+ * {@link ReferralEvent}s of this node. The index is eventually consistent: changes committed by other
+ * nodes, and races between an event and a concurrent change of the same request, are repaired by a periodic
+ * reconciliation against the table, which also reports how much drift it found. Reconciliation only reads
+ * what changed since its previous pass: requests by {@code updated_at}, deletions by their tombstones, and
+ * the requests of job seekers who changed their profile, since those columns are copied into the cached
+ * rows. A full comparison runs only when the unclaimed count then still disagrees with the index. Until
+ * warmed, or when disabled, reads go to the database.
+ */
+@Service
+public class UnclaimedReferralIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UnclaimedReferralIndex.class);
+    // Same order as the keyset-paginated lists: newest first
+    private static final Comparator<PageCursor> NEWEST_FIRST =
+        Comparator.comparing(PageCursor::createdAt).thenComparing(PageCursor::id).reversed();
+    private static final int ID_CHUNK = 500;
+    // Covers changes stamped before a pass started but committed after it read the table
+    private static final Duration SETTLE = Duration.ofSeconds(30);
+
+    private record Position(String companyKey, PageCursor cursor, LocalDateTime updatedAt) {}
+
+    private final ReferralRequestRepository referralRequestRepository;
+    private final ReferralTombstoneRepository referralTombstoneRepository;
+    private final ConcurrentMap<String, NavigableMap<PageCursor, ReferralRequestDTO>> byCompany = new ConcurrentHashMap<>();
+    // Also serves as the per-request lock: every change of one request goes through compute on its id
+    private final ConcurrentMap<Long, Position> positions = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int warmBatchSize;
+    private final Counter drift;
+    private volatile boolean ready;
+    // Start of the previous reconciliation pass (or of warming); only touched by warm and reconcile
+    private LocalDateTime lastPassStartedAt;
+
+    public UnclaimedReferralIndex(ReferralRequestRepository referralRequestRepository,
+                                  ReferralTombstoneRepository referralTombstoneRepository, MeterRegistry meterRegistry,
+                                  @Value("${referrals.unclaimed-index.enabled:true}") boolean enabled,
+                                  @Value("${referrals.unclaimed-index.warm-batch-size:1000}") int warmBatchSize) {
+        this.referralRequestRepository = referralRequestRepository;
+        this.referralTombstoneRepository = referralTombstoneRepository;
+        this.enabled = enabled;
+        this.warmBatchSize = warmBatchSize;
+        this.drift = Counter.builder("referral.unclaimed.index.drift")
+            .description("Entries of the unclaimed referral index found stale or missing by reconciliation")
+            .register(meterRegistry);
+        meterRegistry.gaugeMapSize("referral.unclaimed.index.size", List.of(), positions);
+    }
+
+    /**
+     * One page of the company's unclaimed requests, newest first.
+     */
+    public CursorPage<ReferralRequestDTO> getUnclaimedReferralRequests(String companyName, PageQuery page) {
+        String companyKey = CompanyKey.of(companyName);
+        if (!ready) {
+            return CursorPage.of(referralRequestRepository.findUnclaimedPageByCompanyKey(companyKey, Status.PENDING,
+                page.afterCreatedAt(), page.afterId(), page.pageable()), page,
+                Function.identity(), ReferralRequestDTO::getCreatedAt, ReferralRequestDTO::getId);
+        }
+        NavigableMap<PageCursor, ReferralRequestDTO> unclaimed = byCompany.get(companyKey);
+        List<ReferralRequestDTO> rows = new ArrayList<>();
+        if (unclaimed != null) {
+            int limit = page.unpaged() ? Integer.MAX_VALUE : page.size() + 1;
+            PageCursor after = new PageCursor(page.afterCreatedAt(), page.afterId());
+            for (ReferralRequestDTO row : unclaimed.tailMap(after, false).values()) {
+                if (rows.size() == limit) {
+                    break;
+                }
+                rows.add(row);
+            }
+        }
+        return CursorPage.of(rows, page, Function.identity(), ReferralRequestDTO::getCreatedAt, ReferralRequestDTO::getId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        lastPassStartedAt = LocalDateTime.now();
+        PageCursor after = PageQuery.FIRST_PAGE;
+        List<ReferralRequestDTO> batch;
+        do {
+            batch = referralRequestRepository.findUnclaimedPage(Status.PENDING, after.createdAt(), after.id(),
+                PageRequest.of(0, warmBatchSize));
+            batch.forEach(this::put);
+            if (!batch.isEmpty()) {
+                ReferralRequestDTO last = batch.get(batch.size() - 1);
+                after = new PageCursor(last.getCreatedAt(), last.getId());
+            }
+        } while (batch.size() == warmBatchSize);
+        ready = true;
+        logger.info("Unclaimed referral index warmed with {} requests", positions.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferralEvent(ReferralEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (Status.PENDING.name().equals(event.status()) && event.employeeId() == null
+                && event.type() != ReferralEvent.Type.WITHDRAWN) {
+            refresh(List.of(event.id()));
+        } else {
+            remove(event.id());
+        }
+    }
+
+    /**
+     * Re-reads every request that changed, was deleted, or whose job seeker's profile changed since the
+     * previous pass and disagrees with the index, then counts the unclaimed requests; only if that count
+     * still differs from the index size does it compare the whole table. Only entries that were missing,
+     * stale or wrongly present count as drift; refreshed profile columns do not.
+     */
+    @Scheduled(fixedDelayString = "${referrals.unclaimed-index.reconcile-interval-ms:60000}",
+               initialDelayString = "${referrals.unclaimed-index.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime passStartedAt = LocalDateTime.now();
+        LocalDateTime since = lastPassStartedAt.minus(SETTLE);
+        Set<Long> suspects = new HashSet<>();
+        for (ReferralRequestRepository.ChangedVersionView view : referralRequestRepository.findVersionsUpdatedSince(since)) {
+            Position position = positions.get(view.getId());
+            boolean unclaimed = view.getStatus() == Status.PENDING && view.getEmployeeId() == null;
+            if (unclaimed ? !matches(position, view.getCompanyKey(), view.getUpdatedAt()) : position != null) {
+                suspects.add(view.getId());
+            }
+        }
+        referralTombstoneRepository.findIdsDeletedSince(since).stream()
+            .filter(positions::containsKey).forEach(suspects::add);
+        suspects.addAll(referralRequestRepository.findUnclaimedIdsByJobSeekerUpdatedSince(since, Status.PENDING));
+        lastPassStartedAt = passStartedAt;
+        int repaired = suspects.isEmpty() ? 0 : refresh(suspects);
+        // Catches what left no trace above, such as rows changed without updated_at; events applied between
+        // the count and the size can cause a needless full pass, never a missed one
+        if (referralRequestRepository.countUnclaimed(Status.PENDING) != positions.size()) {
+            repaired += reconcileFully();
+        }
+        if (repaired > 0) {
+            drift.increment(repaired);
+            logger.warn("Unclaimed referral index repaired {} entries", repaired);
+        }
+    }
+
+    // Compares every unclaimed request with the index and re-reads those on which they disagree
+    private int reconcileFully() {
+        Map<Long, ReferralRequestRepository.UnclaimedVersionView> actual = new HashMap<>();
+        referralRequestRepository.findUnclaimedVersions(Status.PENDING).forEach(view -> actual.put(view.getId(), view));
+        Set<Long> suspects = new HashSet<>();
+        positions.forEach((id, position) -> {
+            ReferralRequestRepository.UnclaimedVersionView view = actual.get(id);
+            if (view == null || !matches(position, view.getCompanyKey(), view.getUpdatedAt())) {
+                suspects.add(id);
+            }
+        });
+        actual.keySet().stream().filter(id -> !positions.containsKey(id)).forEach(suspects::add);
+        // Re-read rather than trust the snapshot above, which changes committed since then may have outdated
+        return suspects.isEmpty() ? 0 : refresh(suspects);
+    }
+
+    private static boolean matches(Position position, String companyKey, LocalDateTime updatedAt) {
+        return position != null && position.companyKey().equals(companyKey)
+            && Objects.equals(position.updatedAt(), updatedAt);
+    }
+
+    // Re-reads the given requests and makes the index agree; returns how many entries changed
+    private int refresh(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        int changed = 0;
+        for (int from = 0; from < all.size(); from += ID_CHUNK) {
+            List<Long> chunk = all.subList(from, Math.min(from + ID_CHUNK, all.size()));
+            Set<Long> unclaimed = new HashSet<>();
+            for (ReferralRequestDTO row : referralRequestRepository.findUnclaimedByIdIn(chunk, Status.PENDING)) {
+                unclaimed.add(row.getId());
+                if (put(row)) {
+                    changed++;
+                }
+            }
+            for (Long id : chunk) {
+                if (!unclaimed.contains(id) && remove(id)) {
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private boolean put(ReferralRequestDTO row) {
+        String companyKey = CompanyKey.of(row.getCompanyName());
+        if (companyKey == null) {
+            return false;
+        }
+        Position position = new Position(companyKey, new PageCursor(row.getCreatedAt(), row.getId()), row.getUpdatedAt());
+        boolean[] changed = new boolean[1];
+        positions.compute(row.getId(), (id, previous) -> {
+            if (previous != null && !(previous.companyKey().equals(companyKey) && previous.cursor().equals(position.cursor()))) {
+                unlink(previous);
+            }
+            changed[0] = !position.equals(previous);
+            // Always stores the row, so re-read profile columns replace the cached ones
+            byCompany.compute(companyKey, (key, unclaimed) -> {
+                NavigableMap<PageCursor, ReferralRequestDTO> target =
+                    unclaimed != null ? unclaimed : new ConcurrentSkipListMap<>(NEWEST_FIRST);
+                target.put(position.cursor(), row);
+                return target;
+            });
+            return position;
+        });
+        return changed[0];
+    }
+
+    private boolean remove(Long id) {
+        boolean[] removed = new boolean[1];
+        positions.computeIfPresent(id, (key, previous) -> {
+            unlink(previous);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    int companyCount() {
+        return byCompany.size();
+    }
+
+    // Drops the company's map once empty; put and unlink both go through compute, so no row lands in a dropped map
+    private void unlink(Position position) {
+        byCompany.computeIfPresent(position.companyKey(), (key, unclaimed) -> {
+            unclaimed.remove(position.cursor());
+            return unclaimed.isEmpty() ? null : unclaimed;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.get.referred.referralplatform.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.get.referred.referralplatform.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * In-process cache from Firebase UID to the {@link AuthenticatedUser} used by the security filter.
+ *
+ * Entries expire after a fixed TTL as a safety net; writes that change any cached field must call
+ * {@link #invalidate(String)} so the next request reloads the user.
+ */
+@Component
+public class UserIdentityCache {
+    private final Map<String, CachedIdentity> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserIdentityCache(MeterRegistry meterRegistry,
+                             @Value("${user.identity-cache.max-size:10000}") int maxSize,
+                             @Value("${user.identity-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.hits = meterRegistry.counter("user.identity.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("user.identity.cache.requests", "result", "miss");
+        meterRegistry.gaugeMapSize("user.identity.cache.size", Tags.empty(), entries);
+    }
+
+    public AuthenticatedUser get(String firebaseUid) {
+        CachedIdentity cached = entries.get(firebaseUid);
+        if (cached == null || cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            if (cached != null) {
+                entries.remove(firebaseUid, cached);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.user();
+    }
+
+    public void put(AuthenticatedUser user) {
+        if (user.getFirebaseUid() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        entries.put(user.getFirebaseUid(), new CachedIdentity(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Drops the cached identity now and, when called inside a transaction, again once it completes,
+     * so a concurrent request cannot re-cache the pre-commit state.
+     */
+    public void invalidate(String firebaseUid) {
+        if (firebaseUid == null) {
+            return;
+        }
+        entries.remove(firebaseUid);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(firebaseUid);
+                }
+            });
+        }
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+            .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtMillis()))
+            .limit(excess)
+            .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private record CachedIdentity(AuthenticatedUser user, long expiresAtMillis) {}
+}
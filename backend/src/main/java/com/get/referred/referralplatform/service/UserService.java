@@ -3,10 +3,15 @@ package com.get.referred.referralplatform.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,8 +19,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.get.referred.referralplatform.model.User;
 import com.get.referred.referralplatform.model.User.UserRole;
 import com.get.referred.referralplatform.repository.UserRepository;
+import com.get.referred.referralplatform.security.AuthenticatedUser;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.PageQuery;
 import com.get.referred.referralplatform.dto.UserDTO;
 import com.get.referred.referralplatform.dto.UserProfileUpdateDTO;
 
@@ -23,18 +30,26 @@ import com.get.referred.referralplatform.dto.UserProfileUpdateDTO;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final FirebaseAuth firebaseAuth;
+    private final ObjectProvider<FirebaseAuth> firebaseAuth;
+    private final UserIdentityCache identityCache;
+    // Boot's applicationTaskExecutor: virtual threads when spring.threads.virtual.enabled=true, a bounded pool otherwise
+    private final Executor backgroundExecutor;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, FirebaseAuth firebaseAuth) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ObjectProvider<FirebaseAuth> firebaseAuth,
+                       UserIdentityCache identityCache,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor backgroundExecutor) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.firebaseAuth = firebaseAuth;
+        this.identityCache = identityCache;
+        this.backgroundExecutor = backgroundExecutor;
     }
 
     @Transactional
     public User save(User user) {
         try {
+            identityCache.invalidate(user.getFirebaseUid());
             return userRepository.save(user);
         } catch (Exception e) {
             logger.error("Error saving user: {}", e.getMessage(), e);
@@ -81,6 +96,32 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    /**
+     * When the user's profile last changed, without loading the entity; empty for unknown users.
+     */
+    public Optional<LocalDateTime> getProfileVersion(Long id) {
+        return userRepository.findUpdatedAtById(id);
+    }
+
+    // Security-related methods
+    public boolean hasEmployeeAccess(AuthenticatedUser user) {
+        if (user == null) {
+            return false;
+        }
+        // Anyone who has set a company can provide referrals for it; answered from the principal, without a query.
+        // Only endpoints scoped to the caller's company may rely on this, never cross-company listings
+        return user.getRole() == UserRole.ADMIN
+            || (user.getCompanyName() != null && !user.getCompanyName().isBlank());
+    }
+
+    /**
+     * Returns an uninitialized reference to the user, for associating it with other entities
+     * without loading the row.
+     */
+    public User getReferenceById(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public List<User> getUsersByRole(UserRole role) {
         return userRepository.findByRole(role);
     }
@@ -102,6 +143,7 @@ public class UserService {
                 // Don't allow role changes through this method
                 // Don't allow firebase_uid changes
                 // Don't allow auth_provider changes
+                identityCache.invalidate(existingUser.getFirebaseUid());
                 return userRepository.save(existingUser);
             })
             .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
@@ -119,21 +161,18 @@ public class UserService {
                 if (dto.getCompanyName() != null) {
                     user.setCompanyName(dto.getCompanyName());
                 }
+                identityCache.invalidate(firebaseUid);
                 return userRepository.save(user);
             })
             .orElseThrow(() -> new RuntimeException("User not found with firebaseUid: " + firebaseUid));
     }
 
     public void deleteByFirebaseUid(String firebaseUid) {
-        // 1. Try to delete from Firebase
-        try {
-            firebaseAuth.deleteUser(firebaseUid);
-            logger.info("Successfully deleted user from Firebase: {}", firebaseUid);
-        } catch (Exception e) {
-            logger.info("User not found in Firebase or already deleted: {}", firebaseUid);
-        }
+        // 1. Delete from Firebase in the background; failures are only logged, so the caller need not wait
+        backgroundExecutor.execute(() -> deleteFromFirebase(firebaseUid));
 
         // 2. Try to delete from database
+        identityCache.invalidate(firebaseUid);
         try {
             userRepository.findByFirebaseUid(firebaseUid)
                 .ifPresent(user -> {
@@ -156,16 +195,10 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             String firebaseUid = user.getFirebaseUid();
+            identityCache.invalidate(firebaseUid);
 
             // 2. Try to delete from Firebase
-            try {
-                firebaseAuth.deleteUser(firebaseUid);
-                deletedFromFirebase = true;
-                logger.info("Successfully deleted user from Firebase: {}", firebaseUid);
-            } catch (Exception e) {
-                // If user doesn't exist in Firebase, that's fine
-                logger.info("User not found in Firebase or already deleted: {}", firebaseUid);
-            }
+            deletedFromFirebase = deleteFromFirebase(firebaseUid);
 
             // 3. Try to delete from our database
             try {
@@ -188,27 +221,31 @@ public class UserService {
         }
     }
 
+    private boolean deleteFromFirebase(String firebaseUid) {
+        FirebaseAuth auth = firebaseAuth.getIfAvailable();
+        if (auth == null) {
+            // Running with the local token verifier, there is no Firebase project to clean up
+            return false;
+        }
+        try {
+            auth.deleteUser(firebaseUid);
+            logger.info("Successfully deleted user from Firebase: {}", firebaseUid);
+            return true;
+        } catch (Exception e) {
+            // If user doesn't exist in Firebase, that's fine
+            logger.info("User not found in Firebase or already deleted: {}", firebaseUid);
+            return false;
+        }
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> findByFirebaseUid(String firebaseUid) {
         return userRepository.findByFirebaseUid(firebaseUid);
     }
 
-    public List<UserDTO> getUserDTOsByRole(UserRole role) {
-        return userRepository.findByRole(role).stream()
-            .map(UserDTO::fromEntity)
-            .collect(Collectors.toList());
-    }
-
-    public String extractFirebaseUidFromAuthHeader(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new IllegalArgumentException("Token must be provided as 'Bearer {token}'");
-        }
-        String idToken = authHeader.substring(7);
-        try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            return decodedToken.getUid();
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid or expired token");
-        }
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getUserDTOsByRole(UserRole role, PageQuery page) {
+        List<UserDTO> rows = userRepository.findPageByRole(role, page.afterCreatedAt(), page.afterId(), page.pageable());
+        return CursorPage.of(rows, page, Function.identity(), UserDTO::getCreatedAt, UserDTO::getId);
     }
 }
\ No newline at end of file
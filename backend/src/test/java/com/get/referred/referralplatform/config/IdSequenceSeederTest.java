@@ -0,0 +1,61 @@
+package com.get.referred.referralplatform.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.UserRepository;
+
+/**
+ * Rows written while ids were auto-increment must not collide with ids from the new sequences.
+ * Runs without the test-managed transaction because sequence DDL commits on H2.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceSeeder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceSeederTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IdSequenceSeeder idSequenceSeeder;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private static User newUser(String uid) {
+        User user = new User();
+        user.setFirebaseUid(uid);
+        user.setEmail(uid + "@example.com");
+        user.setName(uid);
+        user.setAuthProvider(User.AuthProvider.GOOGLE);
+        user.setEmailVerified(true);
+        return user;
+    }
+
+    @Test
+    void testSeed_NewIdsStartAboveExistingRows() {
+        jdbcTemplate.update("INSERT INTO users (id, firebase_uid, email, role, is_email_verified)"
+            + " VALUES (1000, 'legacy', 'legacy@example.com', 'USER', TRUE)");
+
+        idSequenceSeeder.seed();
+        List<User> saved = userRepository.saveAll(List.of(newUser("first"), newUser("second")));
+
+        saved.forEach(user -> assertTrue(user.getId() > 1000, "id " + user.getId() + " collides with legacy rows"));
+    }
+}
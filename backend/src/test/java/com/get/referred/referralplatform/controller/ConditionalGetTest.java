@@ -0,0 +1,49 @@
+package com.get.referred.referralplatform.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ConditionalGetTest {
+    private static final LocalDateTime VERSION = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+
+    @Test
+    void testNotModified_AnswersMatchingETagWith304() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ConditionalGet.weakETag("users/me", 7L, VERSION));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(ConditionalGet.notModified(new ServletWebRequest(request, response), "users/me", 7L, VERSION));
+        assertEquals(304, response.getStatus());
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testNotModified_SendsETagWhenClientCopyIsStale() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ConditionalGet.weakETag("users/me", 7L, VERSION.minusNanos(1000)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(ConditionalGet.notModified(new ServletWebRequest(request, response), "users/me", 7L, VERSION));
+        assertEquals(200, response.getStatus());
+        assertEquals(ConditionalGet.weakETag("users/me", 7L, VERSION), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testWeakETag_DependsOnEveryPart() {
+        String eTag = ConditionalGet.weakETag("referrals/me", 7L, VERSION);
+        assertTrue(eTag.startsWith("W/\""));
+        assertEquals(eTag, ConditionalGet.weakETag("referrals/me", 7L, VERSION));
+        assertNotEquals(eTag, ConditionalGet.weakETag("referrals/me", 8L, VERSION));
+        assertNotEquals(eTag, ConditionalGet.weakETag("referrals/received", 7L, VERSION));
+    }
+}
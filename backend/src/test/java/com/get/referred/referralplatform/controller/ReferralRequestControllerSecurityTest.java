@@ -0,0 +1,119 @@
+package com.get.referred.referralplatform.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.get.referred.referralplatform.config.PaginationSettings;
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.User.AuthProvider;
+import com.get.referred.referralplatform.model.User.UserRole;
+import com.get.referred.referralplatform.repository.UserRepository;
+import com.get.referred.referralplatform.security.AuthenticatedUser;
+import com.get.referred.referralplatform.service.ReferralBatchService;
+import com.get.referred.referralplatform.service.ReferralChangesService;
+import com.get.referred.referralplatform.service.ReferralEventHub;
+import com.get.referred.referralplatform.service.ReferralImportService;
+import com.get.referred.referralplatform.service.ReferralRequestService;
+import com.get.referred.referralplatform.service.UnclaimedReferralIndex;
+import com.get.referred.referralplatform.service.UserIdentityCache;
+import com.get.referred.referralplatform.service.UserService;
+import com.google.firebase.auth.FirebaseAuth;
+
+/**
+ * Runs the controller behind method security, with the real {@link UserService} answering the
+ * {@code @userService} checks, to pin down who may reach the cross-company listings.
+ */
+@SpringJUnitConfig(ReferralRequestControllerSecurityTest.Config.class)
+class ReferralRequestControllerSecurityTest {
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+        @Bean
+        ReferralRequestService referralRequestService() {
+            return mock(ReferralRequestService.class);
+        }
+
+        @Bean
+        UserService userService() {
+            @SuppressWarnings("unchecked")
+            ObjectProvider<FirebaseAuth> firebaseAuth = mock(ObjectProvider.class);
+            return new UserService(mock(UserRepository.class), mock(PasswordEncoder.class), firebaseAuth,
+                mock(UserIdentityCache.class), mock(Executor.class));
+        }
+
+        @Bean
+        ReferralRequestController referralRequestController(ReferralRequestService referralRequestService,
+                                                            UserService userService) {
+            return new ReferralRequestController(referralRequestService, mock(ReferralImportService.class),
+                mock(ReferralBatchService.class), mock(ReferralChangesService.class), mock(ReferralEventHub.class),
+                mock(UnclaimedReferralIndex.class), userService, new PaginationSettings(50, 200, false),
+                new ObjectMapper());
+        }
+    }
+
+    @Autowired
+    private ReferralRequestController controller;
+
+    @Autowired
+    private ReferralRequestService referralRequestService;
+
+    @BeforeEach
+    void setUp() {
+        reset(referralRequestService);
+        when(referralRequestService.getPendingReferralRequests(any()))
+            .thenReturn(new CursorPage<ReferralRequestDTO>(List.of(), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(UserRole role, String companyName) {
+        AuthenticatedUser user = new AuthenticatedUser(7L, "uid-7", role, AuthProvider.GOOGLE, true, companyName);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            user, null, List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+
+    @Test
+    void testGetPending_EmployeeWithCompanyCannotListOtherCompanies() {
+        signIn(UserRole.USER, "Acme");
+
+        assertThrows(AccessDeniedException.class, () -> controller.getPendingReferralRequests(null, null, false));
+        verify(referralRequestService, never()).getPendingReferralRequests(any());
+    }
+
+    @Test
+    void testGetPending_AdminListsEveryCompany() {
+        signIn(UserRole.ADMIN, null);
+
+        assertEquals(200, controller.getPendingReferralRequests(null, null, false).getStatusCode().value());
+    }
+}
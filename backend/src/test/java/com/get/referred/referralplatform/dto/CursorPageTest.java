@@ -0,0 +1,44 @@
+package com.get.referred.referralplatform.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class CursorPageTest {
+    private record Row(LocalDateTime createdAt, Long id) {}
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+    @Test
+    void testCursor_RoundTrips() {
+        PageCursor cursor = new PageCursor(NOW, 42L);
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testCursor_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testOf_TrimsExtraRowAndPointsAtLastReturnedRow() {
+        List<Row> rows = List.of(new Row(NOW, 3L), new Row(NOW, 2L), new Row(NOW.minusDays(1), 1L));
+        CursorPage<Long> page = CursorPage.of(rows, new PageQuery(null, 2, false), Row::id, Row::createdAt, Row::id);
+        assertEquals(List.of(3L, 2L), page.items());
+        assertEquals(new PageCursor(NOW, 2L), PageCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testOf_LastPageHasNoCursor() {
+        List<Row> rows = List.of(new Row(NOW, 1L));
+        CursorPage<Row> page = CursorPage.of(rows, new PageQuery(null, 2, false), Function.identity(), Row::createdAt, Row::id);
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+}
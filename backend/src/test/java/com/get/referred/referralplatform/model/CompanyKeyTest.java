@@ -0,0 +1,26 @@
+package com.get.referred.referralplatform.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class CompanyKeyTest {
+
+    @Test
+    void testOf_TrimsSpacesAndLowerCases() {
+        assertEquals("acme corp", CompanyKey.of("  Acme Corp "));
+    }
+
+    @Test
+    void testOf_KeepsTabsLikeSqlTrim() {
+        assertEquals("\tacme\t", CompanyKey.of(" \tAcme\t "));
+    }
+
+    @Test
+    void testOf_BlankNamesHaveNoKey() {
+        assertNull(CompanyKey.of(null));
+        assertNull(CompanyKey.of("   "));
+        assertEquals("\t", CompanyKey.of("\t"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.get.referred.referralplatform.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+
+/**
+ * Many employees clicking accept on the same request at once: exactly one claim may win.
+ * Runs without the test-managed transaction so every thread commits on its own connection.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferralRequestClaimConcurrencyTest {
+    private static final Logger logger = LoggerFactory.getLogger(ReferralRequestClaimConcurrencyTest.class);
+    private static final int EMPLOYEES = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private ReferralRequestRepository referralRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User jobSeeker;
+    private final List<User> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jobSeeker = userRepository.save(newUser("seeker"));
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(userRepository.save(newUser("employee" + i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        referralRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private static User newUser(String uid) {
+        User user = new User();
+        user.setFirebaseUid(uid);
+        user.setEmail(uid + "@example.com");
+        user.setName(uid);
+        user.setCompanyName("Acme");
+        user.setAuthProvider(User.AuthProvider.GOOGLE);
+        user.setEmailVerified(true);
+        return user;
+    }
+
+    private ReferralRequest newPendingRequest() {
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setJobTitle("Engineer");
+        request.setCompanyName("Acme");
+        request.setStatus(Status.PENDING);
+        return referralRequestRepository.save(request);
+    }
+
+    @Test
+    void testClaimIfPending_ExactlyOneWinnerPerRequest() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(EMPLOYEES);
+        long started = System.nanoTime();
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long id = newPendingRequest().getId();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> results = new ArrayList<>();
+                for (User employee : employees) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return tx.execute(status -> referralRequestRepository.claimIfPending(
+                            id, employee, "acme", false, Status.PENDING, Status.ACCEPTED, LocalDateTime.now()));
+                    }));
+                }
+                start.countDown();
+
+                int winners = 0;
+                for (Future<Integer> result : results) {
+                    winners += result.get(30, TimeUnit.SECONDS);
+                }
+                assertEquals(1, winners);
+                ReferralRequest claimed = referralRequestRepository.findById(id).orElseThrow();
+                assertEquals(Status.ACCEPTED, claimed.getStatus());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        logger.info("{} contended claims by {} threads took {} ms", ROUNDS, EMPLOYEES,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
@@ -0,0 +1,326 @@
+package com.get.referred.referralplatform.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.get.referred.referralplatform.dto.ListVersion;
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.CompanyKey;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReferralRequestRepositoryTest {
+    private static final PageCursor FIRST = PageQuery.FIRST_PAGE;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ReferralRequestRepository referralRequestRepository;
+
+    private User employee;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        employee = persistUser("employee", "Acme");
+        for (int i = 0; i < 10; i++) {
+            User jobSeeker = persistUser("seeker" + i, null);
+            persistReferral(jobSeeker, null, Status.PENDING);
+            persistReferral(jobSeeker, employee, Status.ACCEPTED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private User persistUser(String uid, String companyName) {
+        User user = new User();
+        user.setFirebaseUid(uid);
+        user.setEmail(uid + "@example.com");
+        user.setName(uid);
+        user.setCompanyName(companyName);
+        user.setAuthProvider(User.AuthProvider.GOOGLE);
+        user.setEmailVerified(true);
+        return entityManager.persist(user);
+    }
+
+    private void persistReferral(User jobSeeker, User assignedEmployee, Status status) {
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setEmployee(assignedEmployee);
+        request.setJobTitle("Engineer");
+        request.setCompanyName("Acme");
+        request.setStatus(status);
+        entityManager.persist(request);
+    }
+
+    @Test
+    void testListQuery_ProjectsDtosInOneStatementWithoutEntities() {
+        List<ReferralRequestDTO> dtos = referralRequestRepository.findPageByCompanyKey(
+            "acme", FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(20, dtos.size());
+        dtos.forEach(dto -> assertNotNull(dto.getJobSeekerName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testStatusPage_UsesOneStatementRegardlessOfUsers() {
+        List<ReferralRequestDTO> dtos = referralRequestRepository.findPageByUserAndStatus(
+            employee.getId(), Status.ACCEPTED, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(10, dtos.size());
+        dtos.forEach(dto -> assertEquals("employee", dto.getEmployeeName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testStatusPage_CombinesBothRolesNewestFirst() {
+        User seeker = persistUser("seeker-and-employee", "Acme");
+        User other = persistUser("other-seeker", null);
+        persistReferral(seeker, employee, Status.HIRED);
+        persistReferral(other, seeker, Status.HIRED);
+        persistReferral(seeker, employee, Status.REJECTED);
+        entityManager.flush();
+
+        List<ReferralRequestDTO> dtos = referralRequestRepository.findPageByUserAndStatus(
+            seeker.getId(), Status.HIRED, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(2, dtos.size());
+        assertEquals(seeker.getId(), dtos.get(0).getEmployeeId());
+        assertEquals(seeker.getId(), dtos.get(1).getJobSeekerId());
+    }
+
+    @Test
+    void testUnclaimedByCompanyKey_MatchesDifferentlyFormattedNames() {
+        User jobSeeker = persistUser("seeker-extra", null);
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setJobTitle("Engineer");
+        request.setCompanyName("  ACME ");
+        request.setStatus(Status.PENDING);
+        entityManager.persistAndFlush(request);
+
+        List<ReferralRequest> unclaimed = referralRequestRepository.findByCompanyKeyAndStatusAndEmployeeIsNull(
+            CompanyKey.of(employee.getCompanyName()), Status.PENDING);
+        assertEquals(11, unclaimed.size());
+    }
+
+    @Test
+    void testPendingKey_AllowsOnePendingRequestPerCompany() {
+        User jobSeeker = persistUser("seeker-dup", null);
+        persistReferral(jobSeeker, null, Status.PENDING);
+        entityManager.flush();
+        assertTrue(referralRequestRepository.existsByJobSeekerIdAndPendingKey(jobSeeker.getId(), "acme"));
+
+        persistReferral(jobSeeker, null, Status.PENDING);
+        assertThrows(PersistenceException.class, () -> entityManager.flush());
+    }
+
+    @Test
+    void testPendingKey_IgnoresRequestsNoLongerPending() {
+        User jobSeeker = persistUser("seeker-accepted", null);
+        persistReferral(jobSeeker, employee, Status.ACCEPTED);
+        persistReferral(jobSeeker, null, Status.PENDING);
+        entityManager.flush();
+        assertTrue(referralRequestRepository.existsByJobSeekerIdAndPendingKey(jobSeeker.getId(), "acme"));
+    }
+
+    @Test
+    void testPendingPage_KeepsUnclaimedRequestsAndEmptyEmployeeColumns() {
+        List<ReferralRequestDTO> dtos = referralRequestRepository.findPageByStatus(
+            Status.PENDING, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(10, dtos.size());
+        dtos.forEach(dto -> {
+            assertEquals("PENDING", dto.getStatus());
+            assertNull(dto.getEmployeeId());
+            assertNull(dto.getEmployeeName());
+        });
+    }
+    @Test
+    void testClaimAllIfPending_LeavesClaimedRequestsAlone() {
+        User other = persistUser("other-employee", "Acme");
+        List<Long> ids = referralRequestRepository.findAll().stream().map(ReferralRequest::getId).toList();
+
+        int claimed = referralRequestRepository.claimAllIfPending(ids, other, "acme", false, Status.PENDING, Status.ACCEPTED, LocalDateTime.now());
+
+        assertEquals(10, claimed);
+        referralRequestRepository.findByIdIn(ids).forEach(request -> {
+            assertEquals(Status.ACCEPTED, request.getStatus());
+            assertNull(request.getPendingKey());
+        });
+    }
+
+    @Test
+    void testClaimIfPending_RefusesRequestsOfAnotherCompany() {
+        User foreign = persistUser("globex-employee", "Globex");
+        Long pendingId = referralRequestRepository.findPageByStatus(
+            Status.PENDING, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 1)).get(0).getId();
+
+        assertEquals(0, referralRequestRepository.claimIfPending(pendingId, foreign, "globex", false,
+            Status.PENDING, Status.ACCEPTED, LocalDateTime.now()));
+        assertEquals(Status.PENDING, referralRequestRepository.findById(pendingId).orElseThrow().getStatus());
+        assertEquals(1, referralRequestRepository.claimIfPending(pendingId, foreign, "globex", true,
+            Status.PENDING, Status.ACCEPTED, LocalDateTime.now()));
+    }
+
+    @Test
+    void testClaimAllIfPending_ScopedToTheCallersCompany() {
+        User foreign = persistUser("globex-employee", "Globex");
+        User globexSeeker = persistUser("globex-seeker", null);
+        ReferralRequest globexRequest = persistChanged(globexSeeker, null, "Globex", LocalDateTime.now());
+        entityManager.flush();
+        List<Long> ids = referralRequestRepository.findAll().stream().map(ReferralRequest::getId).toList();
+
+        assertEquals(1, referralRequestRepository.claimAllIfPending(ids, foreign, "globex", false,
+            Status.PENDING, Status.REJECTED, LocalDateTime.now()));
+        assertEquals(Status.REJECTED, referralRequestRepository.findById(globexRequest.getId()).orElseThrow().getStatus());
+        assertEquals(10, referralRequestRepository.findUnclaimedPageByCompanyKey(
+            "acme", Status.PENDING, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100)).size());
+
+        List<ReferralRequestRepository.StatusView> views = referralRequestRepository.findStatusesByIdIn(List.of(globexRequest.getId()));
+        assertEquals("globex", views.get(0).getCompanyKey());
+        assertEquals(foreign.getId(), views.get(0).getEmployeeId());
+    }
+
+    @Test
+    void testTransitionAll_MovesOthersRequestsOnlyForAnyEmployee() {
+        User other = persistUser("other-employee", "Acme");
+        List<Long> ids = referralRequestRepository.findAll().stream().map(ReferralRequest::getId).toList();
+        Set<Status> from = Set.of(Status.ACCEPTED);
+
+        assertEquals(0, referralRequestRepository.transitionAll(ids, from, Status.HIRED, other, false, LocalDateTime.now()));
+        assertEquals(10, referralRequestRepository.transitionAll(ids, from, Status.REJECTED, other, true, LocalDateTime.now()));
+        assertEquals(0, referralRequestRepository.transitionAll(ids, from, Status.HIRED, employee, false, LocalDateTime.now()));
+    }
+    @Test
+    void testListVersion_ChangesWhenARequestMovesButNotOnReads() {
+        ListVersion before = referralRequestRepository.findVersionByCompanyKey("acme");
+        assertEquals(20L, before.count());
+        referralRequestRepository.findPageByCompanyKey("acme", FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(before, referralRequestRepository.findVersionByCompanyKey("acme"));
+
+        Long pendingId = referralRequestRepository.findPageByStatus(
+            Status.PENDING, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 1)).get(0).getId();
+        referralRequestRepository.claimIfPending(pendingId, employee, "acme", false, Status.PENDING, Status.ACCEPTED,
+            before.lastModified().plusSeconds(1));
+        ListVersion after = referralRequestRepository.findVersionByCompanyKey("acme");
+        assertEquals(20L, after.count());
+        assertNotEquals(before, after);
+    }
+    private ReferralRequest persistChanged(User jobSeeker, User assignedEmployee, String companyName, LocalDateTime updatedAt) {
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setEmployee(assignedEmployee);
+        request.setJobTitle("Engineer");
+        request.setCompanyName(companyName);
+        request.setStatus(assignedEmployee == null ? Status.PENDING : Status.ACCEPTED);
+        request.setUpdatedAt(updatedAt);
+        return entityManager.persist(request);
+    }
+
+    private static List<Long> ids(List<ReferralRequestDTO> rows) {
+        return rows.stream().map(ReferralRequestDTO::getId).toList();
+    }
+
+    @Test
+    void testChangesByScope_EachScopeInUpdateOrderFromTheCursor() {
+        User caller = persistUser("changes-caller", "Globex");
+        User stranger = persistUser("changes-stranger", null);
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        LocalDateTime upTo = t.plusMinutes(10);
+        ReferralRequest own = persistChanged(caller, null, "Initech", t.plusMinutes(3));
+        ReferralRequest ownEarlier = persistChanged(caller, null, "Hooli", t.plusMinutes(1));
+        ReferralRequest handled = persistChanged(stranger, caller, "Hooli", t.plusMinutes(1));
+        ReferralRequest colleagues = persistChanged(stranger, null, "Globex", t.plusMinutes(2));
+        persistChanged(persistUser("changes-other", null), null, "Initech", t.plusMinutes(4));
+        entityManager.flush();
+
+        assertEquals(List.of(ownEarlier.getId(), own.getId()), ids(referralRequestRepository.findChangesByJobSeekerId(
+            caller.getId(), t, 0L, upTo, PageRequest.of(0, 100))));
+        assertEquals(List.of(handled.getId()), ids(referralRequestRepository.findChangesByEmployeeId(
+            caller.getId(), t, 0L, upTo, PageRequest.of(0, 100))));
+        assertEquals(List.of(colleagues.getId()), ids(referralRequestRepository.findChangesByCompanyKey(
+            "globex", t, 0L, upTo, PageRequest.of(0, 100))));
+
+        assertEquals(List.of(own.getId()), ids(referralRequestRepository.findChangesByJobSeekerId(
+            caller.getId(), t.plusMinutes(1), ownEarlier.getId(), upTo, PageRequest.of(0, 100))));
+        assertEquals(List.of(), ids(referralRequestRepository.findChangesByJobSeekerId(
+            caller.getId(), t, 0L, t.plusMinutes(1).minusSeconds(1), PageRequest.of(0, 100))));
+    }
+
+    @Test
+    void testUnclaimedQueries_SkipAssignedRequests() {
+        List<ReferralRequestDTO> page = referralRequestRepository.findUnclaimedPageByCompanyKey(
+            "acme", Status.PENDING, FIRST.createdAt(), FIRST.id(), PageRequest.of(0, 100));
+        assertEquals(10, page.size());
+        page.forEach(dto -> assertNull(dto.getEmployeeId()));
+
+        List<ReferralRequestRepository.UnclaimedVersionView> versions = referralRequestRepository.findUnclaimedVersions(Status.PENDING);
+        assertEquals(10, versions.size());
+        versions.forEach(version -> assertEquals("acme", version.getCompanyKey()));
+        assertEquals(10, referralRequestRepository.findUnclaimedByIdIn(
+            versions.stream().map(ReferralRequestRepository.UnclaimedVersionView::getId).toList(), Status.PENDING).size());
+    }
+
+    @Test
+    void testReconciliationQueries_ReadOnlyWhatChangedSince() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+        User jobSeeker = persistUser("recent", null);
+        ReferralRequest claimed = new ReferralRequest();
+        claimed.setJobSeeker(jobSeeker);
+        claimed.setEmployee(employee);
+        claimed.setJobTitle("Engineer");
+        claimed.setCompanyName("Acme");
+        claimed.setStatus(Status.ACCEPTED);
+        claimed.setUpdatedAt(since.plusSeconds(30));
+        entityManager.persist(claimed);
+        persistReferral(jobSeeker, null, Status.PENDING);
+        entityManager.flush();
+
+        List<ReferralRequestRepository.ChangedVersionView> changed = referralRequestRepository.findVersionsUpdatedSince(since);
+        assertEquals(List.of(claimed.getId()), changed.stream().map(ReferralRequestRepository.ChangedVersionView::getId).toList());
+        assertEquals(employee.getId(), changed.get(0).getEmployeeId());
+        // Every job seeker was created just now, so all unclaimed requests count as changed profiles
+        assertEquals(11, referralRequestRepository.findUnclaimedIdsByJobSeekerUpdatedSince(since, Status.PENDING).size());
+        assertEquals(0, referralRequestRepository.findUnclaimedIdsByJobSeekerUpdatedSince(
+            LocalDateTime.now().plusMinutes(1), Status.PENDING).size());
+        assertEquals(11, referralRequestRepository.countUnclaimed(Status.PENDING));
+    }
+
+    @Test
+    void testCompanyKey_MatchesTheBackfillSql() {
+        for (String name : List.of("  Acme ", "\tAcme\t", " \tGlobex \t ")) {
+            Object sql = entityManager.getEntityManager().createNativeQuery("SELECT LOWER(TRIM(?1))")
+                .setParameter(1, name).getSingleResult();
+            assertEquals(sql, CompanyKey.of(name));
+        }
+    }
+}
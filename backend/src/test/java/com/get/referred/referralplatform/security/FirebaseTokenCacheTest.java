@@ -0,0 +1,58 @@
+package com.get.referred.referralplatform.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FirebaseTokenCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private FirebaseTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new FirebaseTokenCache(meterRegistry, 10);
+    }
+
+    private static VerifiedToken tokenExpiringIn(long seconds) {
+        long exp = System.currentTimeMillis() / 1000L + seconds;
+        return new VerifiedToken("uid123", "user@example.com", true, "google.com", exp);
+    }
+
+    @Test
+    void testGet_ReturnsCachedToken() {
+        VerifiedToken token = tokenExpiringIn(3600);
+        tokenCache.put("raw-token", token);
+        assertSame(token, tokenCache.get("raw-token"));
+        assertEquals(1.0, meterRegistry.counter("firebase.token.cache.requests", "result", "hit").count());
+    }
+
+    @Test
+    void testGet_MissForUnknownToken() {
+        assertNull(tokenCache.get("unknown"));
+        assertEquals(1.0, meterRegistry.counter("firebase.token.cache.requests", "result", "miss").count());
+    }
+
+    @Test
+    void testPut_IgnoresExpiredToken() {
+        tokenCache.put("raw-token", tokenExpiringIn(-5));
+        assertNull(tokenCache.get("raw-token"));
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void testPut_EvictsSoonestExpiringWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            tokenCache.put("token-" + i, tokenExpiringIn(100 + i));
+        }
+        tokenCache.put("token-new", tokenExpiringIn(3600));
+        assertNull(tokenCache.get("token-0"));
+        assertEquals(10, tokenCache.size());
+        assertEquals(1.0, meterRegistry.counter("firebase.token.cache.evictions", "cause", "size").count());
+    }
+}
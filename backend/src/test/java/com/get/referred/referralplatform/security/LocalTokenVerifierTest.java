@@ -0,0 +1,37 @@
+package com.get.referred.referralplatform.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LocalTokenVerifierTest {
+
+    @Test
+    void testVerify_RoundTripsIssuedToken() throws Exception {
+        LocalTokenVerifier verifier = new LocalTokenVerifier("test-project", 60, 0, 0, 0.0);
+        String token = verifier.issue("uid123", "user@example.com", true, "password");
+        VerifiedToken verified = verifier.verify(token);
+        assertEquals("uid123", verified.uid());
+        assertEquals("user@example.com", verified.email());
+        assertTrue(verified.emailVerified());
+        assertEquals("password", verified.signInProvider());
+        assertTrue(verified.expiresAtEpochSeconds() > System.currentTimeMillis() / 1000L);
+    }
+
+    @Test
+    void testVerify_RejectsTokenFromAnotherKeypair() {
+        String token = new LocalTokenVerifier("test-project", 60, 0, 0, 0.0)
+            .issue("uid123", "user@example.com", true, "google.com");
+        LocalTokenVerifier other = new LocalTokenVerifier("test-project", 60, 0, 0, 0.0);
+        assertThrows(Exception.class, () -> other.verify(token));
+    }
+
+    @Test
+    void testVerify_InjectsConfiguredErrors() {
+        LocalTokenVerifier verifier = new LocalTokenVerifier("test-project", 60, 0, 0, 1.0);
+        String token = verifier.issue("uid123", "user@example.com", true, "google.com");
+        assertThrows(Exception.class, () -> verifier.verify(token));
+    }
+}
@@ -0,0 +1,58 @@
+package com.get.referred.referralplatform.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+class SessionTokenServiceTest {
+    private static final String OLD_SECRET = Base64.getEncoder().encodeToString("old-secret-old-secret-old-secret-0".getBytes());
+    private static final String NEW_SECRET = Base64.getEncoder().encodeToString("new-secret-new-secret-new-secret-1".getBytes());
+
+    private static SessionTokenService service(String keys, String activeKeyId) {
+        return new SessionTokenService(true, keys, activeKeyId, 15);
+    }
+
+    @Test
+    void testIssueAndVerify() {
+        SessionTokenService tokens = service("k1:" + OLD_SECRET, "k1");
+        String token = tokens.issue("uid123", 42L, "USER");
+        assertTrue(tokens.isSessionToken(token));
+        Claims claims = tokens.verify(token);
+        assertEquals("uid123", claims.getSubject());
+        assertEquals(42, ((Number) claims.get("uid")).intValue());
+        assertEquals("USER", claims.get("role"));
+    }
+
+    @Test
+    void testVerify_AcceptsTokensFromRotatedKey() {
+        String token = service("k1:" + OLD_SECRET, "k1").issue("uid123", 42L, "USER");
+        SessionTokenService rotated = service("k1:" + OLD_SECRET + ",k2:" + NEW_SECRET, "k2");
+        assertTrue(rotated.isSessionToken(token));
+        assertEquals("uid123", rotated.verify(token).getSubject());
+    }
+
+    @Test
+    void testVerify_RejectsTokenAfterKeyRemoved() {
+        String token = service("k1:" + OLD_SECRET, "k1").issue("uid123", 42L, "USER");
+        SessionTokenService rotated = service("k2:" + NEW_SECRET, "k2");
+        assertFalse(rotated.isSessionToken(token));
+        assertThrows(JwtException.class, () -> rotated.verify(token));
+    }
+
+    @Test
+    void testIsSessionToken_FalseForForeignTokens() {
+        SessionTokenService tokens = service("k1:" + OLD_SECRET, "k1");
+        assertFalse(tokens.isSessionToken("not-a-jwt"));
+        // Firebase ID tokens carry a Google key id and no session type
+        String header = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":\"RS256\",\"kid\":\"abc\",\"typ\":\"JWT\"}".getBytes());
+        assertFalse(tokens.isSessionToken(header + ".e30.sig"));
+    }
+}
@@ -1,8 +1,9 @@
 package com.get.referred.referralplatform.service;
 
 import com.get.referred.referralplatform.model.User;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import com.get.referred.referralplatform.security.SessionTokenService;
+import com.get.referred.referralplatform.security.TokenVerifier;
+import com.get.referred.referralplatform.security.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -18,7 +19,9 @@ class AuthServiceTest {
     @Mock
     private UserService userService;
     @Mock
-    private FirebaseAuth firebaseAuth;
+    private TokenVerifier tokenVerifier;
+    @Mock
+    private SessionTokenService sessionTokenService;
 
     @InjectMocks
     private AuthService authService;
@@ -30,9 +33,8 @@ class AuthServiceTest {
 
     @Test
     void testGetUserFromToken_UserExists() throws Exception {
-        FirebaseToken token = mock(FirebaseToken.class);
-        when(firebaseAuth.verifyIdToken("token")).thenReturn(token);
-        when(token.getUid()).thenReturn("uid123");
+        VerifiedToken token = new VerifiedToken("uid123", "user@example.com", true, "google.com", 0L);
+        when(tokenVerifier.verify("token")).thenReturn(token);
         User user = new User();
         user.setFirebaseUid("uid123");
         when(userService.findByFirebaseUid("uid123")).thenReturn(Optional.of(user));
@@ -43,9 +45,8 @@ class AuthServiceTest {
 
     @Test
     void testGetUserFromToken_UserNotFound() throws Exception {
-        FirebaseToken token = mock(FirebaseToken.class);
-        when(firebaseAuth.verifyIdToken("token")).thenReturn(token);
-        when(token.getUid()).thenReturn("notfound");
+        VerifiedToken token = new VerifiedToken("notfound", "user@example.com", true, "google.com", 0L);
+        when(tokenVerifier.verify("token")).thenReturn(token);
         when(userService.findByFirebaseUid("notfound")).thenReturn(Optional.empty());
         Exception exception = assertThrows(Exception.class, () -> authService.getUserFromToken("token"));
         assertEquals("User not found", exception.getMessage());
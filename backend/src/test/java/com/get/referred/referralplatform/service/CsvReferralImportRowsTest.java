@@ -0,0 +1,54 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+
+class CsvReferralImportRowsTest {
+
+    @Test
+    void testNext_HandlesQuotedFieldsAndLineEndings() throws IOException {
+        String body = "\uFEFFCompanyName,jobTitle,jobLink\r\n"
+            + "\"Acme, Inc.\",\"Senior \"\"Platform\"\" Engineer\",\r\n"
+            + "\r\n"
+            + "Globex,\"Line one\nline two\",https://example.com/jobs/1\n";
+        CsvReferralImportRows rows = new CsvReferralImportRows(new StringReader(body));
+
+        ReferralImportRows.Row first = rows.next();
+        assertEquals(1, first.number());
+        assertEquals("Acme, Inc.", first.data().getCompanyName());
+        assertEquals("Senior \"Platform\" Engineer", first.data().getJobTitle());
+        assertNull(first.data().getJobLink());
+
+        ReferralRequestDTO second = rows.next().data();
+        assertEquals("Line one\nline two", second.getJobTitle());
+        assertEquals("https://example.com/jobs/1", second.getJobLink());
+        assertNull(rows.next());
+    }
+
+    @Test
+    void testNext_ReportsRowsWithWrongFieldCount() throws IOException {
+        CsvReferralImportRows rows = new CsvReferralImportRows(new StringReader("jobTitle,companyName\nEngineer\n"));
+
+        ReferralImportRows.Row row = rows.next();
+        assertNull(row.data());
+        assertNotNull(row.error());
+    }
+
+    @Test
+    void testHeader_RejectsUnknownAndMissingColumns() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new CsvReferralImportRows(new StringReader("jobTitle,companyName,salary\n")));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CsvReferralImportRows(new StringReader("jobTitle,jobLink\n")));
+        assertThrows(IllegalArgumentException.class, () -> new CsvReferralImportRows(new StringReader("")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.mockito.MockitoAnnotations;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.EmailOutboxRepository;
+
+class EmailNotificationServiceTest {
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static ReferralRequest acceptedRequest() {
+        User jobSeeker = new User();
+        jobSeeker.setEmail("seeker@example.com");
+        User employee = new User();
+        employee.setName("Jane");
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setEmployee(employee);
+        request.setJobTitle("Engineer");
+        request.setCompanyName("Acme");
+        request.setStatus(ReferralRequest.Status.ACCEPTED);
+        return request;
+    }
+
+    @Test
+    void testReferralAccepted_QueuesEmailForJobSeeker() {
+        new EmailNotificationService(outboxRepository, true).referralAccepted(acceptedRequest());
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("seeker@example.com", captor.getValue().getRecipient());
+        assertEquals("Your referral request for Acme was accepted", captor.getValue().getSubject());
+        assertEquals(EmailOutbox.Status.PENDING, captor.getValue().getStatus());
+    }
+
+    @Test
+    void testDisabled_QueuesNothing() {
+        new EmailNotificationService(outboxRepository, false).referralAccepted(acceptedRequest());
+        verify(outboxRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,132 @@
+package com.get.referred.referralplatform.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+import org.mockito.InOrder;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.get.referred.referralplatform.model.EmailOutbox;
+import com.get.referred.referralplatform.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+class EmailOutboxDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    private EmailOutboxDispatcher dispatcherFor(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        return new EmailOutboxDispatcher(outboxRepository, mailSender, transactionManager,
+            "no-reply@example.com", 10, 3, 30, 3600, 300);
+    }
+
+    private EmailOutbox entry(Long id, String recipient, String subject, String body) {
+        EmailOutbox entry = new EmailOutbox(recipient, subject, body);
+        ReflectionTestUtils.setField(entry, "id", id);
+        return entry;
+    }
+
+    private void stubClaim(List<EmailOutbox> batch) {
+        when(outboxRepository.claimDue(eq(EmailOutbox.Status.PENDING), any(), any())).thenReturn(batch);
+        when(outboxRepository.findAllById(any())).thenReturn(batch);
+    }
+
+    @Test
+    void testDispatchBatch_SendsAndMarksEntriesSent() throws Exception {
+        List<EmailOutbox> batch = List.of(
+            entry(1L, "a@example.com", "Subject A", "Body A"),
+            entry(2L, "b@example.com", "Subject B", "Body B"));
+        stubClaim(batch);
+
+        assertEquals(2, dispatcherFor(greenMail.getSmtp().getPort()).dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Subject A", received[0].getSubject());
+        batch.forEach(entry -> assertEquals(EmailOutbox.Status.SENT, entry.getStatus()));
+    }
+
+    @Test
+    void testDispatchBatch_CommitsTheClaimBeforeSending() {
+        EmailOutbox entry = entry(1L, "a@example.com", "Subject", "Body");
+        stubClaim(List.of(entry));
+
+        dispatcherFor(greenMail.getSmtp().getPort()).dispatchBatch();
+
+        // Claim and lease in one transaction, then the result in another; the send happens between them
+        InOrder order = inOrder(outboxRepository, transactionManager);
+        order.verify(outboxRepository).claimDue(eq(EmailOutbox.Status.PENDING), any(), any());
+        order.verify(transactionManager).commit(any());
+        order.verify(outboxRepository).findAllById(any());
+        order.verify(transactionManager).commit(any());
+        assertEquals(EmailOutbox.Status.SENT, entry.getStatus());
+    }
+
+    @Test
+    void testDispatchBatch_SmtpDownSchedulesRetry() {
+        EmailOutbox entry = entry(1L, "a@example.com", "Subject", "Body");
+        stubClaim(List.of(entry));
+        int port = greenMail.getSmtp().getPort();
+        greenMail.stop();
+
+        dispatcherFor(port).dispatchBatch();
+
+        assertEquals(EmailOutbox.Status.PENDING, entry.getStatus());
+        assertEquals(1, entry.getAttempts());
+        assertTrue(entry.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+    }
+
+    @Test
+    void testMarkFailed_GivesUpAfterMaxAttempts() {
+        EmailOutbox entry = new EmailOutbox("a@example.com", "Subject", "Body");
+        for (int i = 0; i < 3; i++) {
+            entry.markFailed("boom", LocalDateTime.now(), 3);
+        }
+        assertEquals(EmailOutbox.Status.FAILED, entry.getStatus());
+    }
+
+    @Test
+    void testBackoff_DoublesUpToTheCap() {
+        EmailOutboxDispatcher dispatcher = dispatcherFor(greenMail.getSmtp().getPort());
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(3600), dispatcher.backoff(12));
+    }
+
+    @Test
+    void testDispatchBatch_NothingDue() {
+        when(outboxRepository.claimDue(eq(EmailOutbox.Status.PENDING), any(), any())).thenReturn(List.of());
+        assertEquals(0, dispatcherFor(greenMail.getSmtp().getPort()).dispatchBatch());
+    }
+}
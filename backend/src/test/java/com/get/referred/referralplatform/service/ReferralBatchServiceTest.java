@@ -0,0 +1,191 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.get.referred.referralplatform.dto.ReferralBatchResult;
+import com.get.referred.referralplatform.dto.ReferralBatchResult.Outcome;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+
+class ReferralBatchServiceTest {
+    @Mock
+    private ReferralRequestRepository referralRequestRepository;
+    @Mock
+    private EmailNotificationService emailNotificationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReferralBatchService referralBatchService;
+    private User employee;
+    private User otherEmployee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        referralBatchService = new ReferralBatchService(referralRequestRepository, emailNotificationService, eventPublisher, 3);
+        employee = user(5L);
+        otherEmployee = user(6L);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static ReferralRequestRepository.StatusView statusView(Long id, Status status) {
+        return statusView(id, status, "acme", null);
+    }
+
+    private static ReferralRequestRepository.StatusView statusView(Long id, Status status, String companyKey, Long employeeId) {
+        return new ReferralRequestRepository.StatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public String getCompanyKey() {
+                return companyKey;
+            }
+
+            @Override
+            public Long getEmployeeId() {
+                return employeeId;
+            }
+        };
+    }
+
+    private static ReferralRequest request(Long id, Status status, User assigned) {
+        User jobSeeker = user(7L);
+        ReferralRequest request = mock(ReferralRequest.class);
+        when(request.getId()).thenReturn(id);
+        when(request.getJobSeeker()).thenReturn(jobSeeker);
+        when(request.getStatus()).thenReturn(status);
+        when(request.getEmployee()).thenReturn(assigned);
+        return request;
+    }
+
+    @Test
+    void testTransition_ReportsOneOutcomePerDistinctId() {
+        when(referralRequestRepository.findStatusesByIdIn(any()))
+            .thenReturn(List.of(statusView(1L, Status.PENDING), statusView(2L, Status.ACCEPTED)));
+        ReferralRequest claimed = request(1L, Status.ACCEPTED, employee);
+        ReferralRequest claimedByOther = request(2L, Status.ACCEPTED, otherEmployee);
+        when(referralRequestRepository.findByIdIn(any())).thenReturn(List.of(claimed, claimedByOther));
+
+        List<ReferralBatchResult> results = referralBatchService.transition(
+            List.of(1L, 2L, 3L, 1L), Status.ACCEPTED, employee, "acme", false);
+
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(ReferralBatchResult::id).toList());
+        assertEquals(List.of(Outcome.UPDATED, Outcome.CONFLICT, Outcome.NOT_FOUND),
+            results.stream().map(ReferralBatchResult::outcome).toList());
+        verify(referralRequestRepository).claimAllIfPending(
+            eq(Set.of(1L, 2L)), eq(employee), eq("acme"), eq(false), eq(Status.PENDING), eq(Status.ACCEPTED), any());
+        verify(referralRequestRepository, never()).transitionAll(any(), any(), any(), any(), anyBoolean(), any());
+        verify(emailNotificationService).referralAccepted(claimed);
+        ArgumentCaptor<ReferralEvent> event = ArgumentCaptor.forClass(ReferralEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReferralEvent.Type.CLAIMED, event.getValue().type());
+        assertEquals(1L, event.getValue().id());
+    }
+
+    @Test
+    void testTransition_DoesNotReportConcurrentClaimAsOurs() {
+        when(referralRequestRepository.findStatusesByIdIn(any())).thenReturn(List.of(statusView(1L, Status.PENDING)));
+        ReferralRequest claimedByOther = request(1L, Status.ACCEPTED, otherEmployee);
+        when(referralRequestRepository.findByIdIn(any())).thenReturn(List.of(claimedByOther));
+
+        List<ReferralBatchResult> results = referralBatchService.transition(List.of(1L), Status.ACCEPTED, employee, "acme", false);
+
+        assertEquals(Outcome.CONFLICT, results.get(0).outcome());
+        verify(emailNotificationService, never()).referralAccepted(any());
+    }
+
+    @Test
+    void testTransition_RejectCoversUnclaimedAndAssignedRequests() {
+        when(referralRequestRepository.findStatusesByIdIn(any()))
+            .thenReturn(List.of(statusView(1L, Status.PENDING), statusView(2L, Status.ACCEPTED)));
+        ReferralRequest unclaimed = request(1L, Status.REJECTED, employee);
+        ReferralRequest assigned = request(2L, Status.REJECTED, otherEmployee);
+        when(referralRequestRepository.findByIdIn(any())).thenReturn(List.of(unclaimed, assigned));
+
+        List<ReferralBatchResult> results = referralBatchService.transition(List.of(1L, 2L), Status.REJECTED, employee, "acme", true);
+
+        assertEquals(List.of(Outcome.UPDATED, Outcome.UPDATED), results.stream().map(ReferralBatchResult::outcome).toList());
+        verify(referralRequestRepository).claimAllIfPending(
+            any(), eq(employee), eq("acme"), eq(true), eq(Status.PENDING), eq(Status.REJECTED), any());
+        verify(referralRequestRepository).transitionAll(
+            any(), eq(Set.of(Status.ACCEPTED)), eq(Status.REJECTED), eq(employee), eq(true), any());
+    }
+
+    @Test
+    void testTransition_OtherCompaniesRequestsLookNotFound() {
+        when(referralRequestRepository.findStatusesByIdIn(any())).thenReturn(List.of(
+            statusView(1L, Status.PENDING, "globex", null),
+            statusView(2L, Status.ACCEPTED, "globex", 5L),
+            statusView(3L, Status.PENDING)));
+        ReferralRequest assignedToCaller = request(2L, Status.REJECTED, employee);
+        ReferralRequest ownCompany = request(3L, Status.REJECTED, employee);
+        when(referralRequestRepository.findByIdIn(Set.of(2L, 3L))).thenReturn(List.of(assignedToCaller, ownCompany));
+
+        List<ReferralBatchResult> results = referralBatchService.transition(
+            List.of(1L, 2L, 3L), Status.REJECTED, employee, "acme", false);
+
+        assertEquals(List.of(Outcome.NOT_FOUND, Outcome.UPDATED, Outcome.UPDATED),
+            results.stream().map(ReferralBatchResult::outcome).toList());
+        verify(referralRequestRepository).claimAllIfPending(
+            eq(Set.of(2L, 3L)), eq(employee), eq("acme"), eq(false), eq(Status.PENDING), eq(Status.REJECTED), any());
+        verify(referralRequestRepository).transitionAll(
+            eq(Set.of(2L, 3L)), any(), eq(Status.REJECTED), eq(employee), eq(false), any());
+    }
+
+    @Test
+    void testTransition_OnlyForeignIdsRunNoUpdate() {
+        when(referralRequestRepository.findStatusesByIdIn(any()))
+            .thenReturn(List.of(statusView(1L, Status.PENDING, "globex", null)));
+
+        List<ReferralBatchResult> results = referralBatchService.transition(List.of(1L), Status.ACCEPTED, employee, "acme", false);
+
+        assertEquals(Outcome.NOT_FOUND, results.get(0).outcome());
+        verify(referralRequestRepository, never()).claimAllIfPending(any(), any(), any(), anyBoolean(), any(), any(), any());
+        verify(referralRequestRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void testTransition_RejectsInvalidBatches() {
+        assertThrows(IllegalArgumentException.class,
+            () -> referralBatchService.transition(List.of(), Status.HIRED, employee, "acme", false));
+        assertThrows(IllegalArgumentException.class,
+            () -> referralBatchService.transition(List.of(1L, 2L, 3L, 4L), Status.HIRED, employee, "acme", false));
+        assertThrows(IllegalArgumentException.class,
+            () -> referralBatchService.transition(List.of(1L), Status.PENDING, employee, "acme", false));
+        verify(referralRequestRepository, never()).findStatusesByIdIn(any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+import com.get.referred.referralplatform.dto.ReferralChanges;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralTombstone;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+
+class ReferralChangesServiceTest {
+    private static final LocalDateTime T = LocalDateTime.now().minusHours(1);
+
+    @Mock
+    private ReferralRequestRepository referralRequestRepository;
+    @Mock
+    private ReferralTombstoneRepository referralTombstoneRepository;
+
+    private ReferralChangesService referralChangesService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        referralChangesService = new ReferralChangesService(referralRequestRepository, referralTombstoneRepository, 5, 30);
+    }
+
+    private static ReferralRequestDTO row(Long id, LocalDateTime updatedAt) {
+        return new ReferralRequestDTO(id, null, "Engineer", null, "Acme", "PENDING", null, T, updatedAt, 7L, null);
+    }
+
+    private static ReferralTombstone tombstone(Long id, LocalDateTime deletedAt) {
+        User jobSeeker = new User();
+        jobSeeker.setId(7L);
+        ReferralRequest request = mock(ReferralRequest.class);
+        when(request.getId()).thenReturn(id);
+        when(request.getJobSeeker()).thenReturn(jobSeeker);
+        return new ReferralTombstone(request, deletedAt);
+    }
+
+    // Everything through the job seeker scope; the other scopes come back empty
+    private void stub(List<ReferralRequestDTO> rows, List<ReferralTombstone> tombstones) {
+        when(referralRequestRepository.findChangesByJobSeekerId(any(), any(), any(), any(), any())).thenReturn(rows);
+        when(referralTombstoneRepository.findChangesByJobSeekerId(any(), any(), any(), any(), any())).thenReturn(tombstones);
+    }
+
+    @Test
+    void testChangesSince_MergesRowsAndTombstonesInCursorOrder() {
+        ReferralTombstone deleted = tombstone(4L, T.plusSeconds(2));
+        stub(List.of(row(3L, T.plusSeconds(1)), row(2L, T.plusSeconds(2)), row(9L, T.plusSeconds(3))), List.of(deleted));
+
+        ReferralChanges changes = referralChangesService.changesSince(7L, "Acme", new PageQuery(null, 3, false));
+
+        assertEquals(List.of(3L, 2L), changes.changed().stream().map(ReferralRequestDTO::getId).toList());
+        assertEquals(List.of(4L), changes.deleted());
+        assertTrue(changes.hasMore());
+        assertFalse(changes.reset());
+        assertEquals(new PageCursor(T.plusSeconds(2), 4L), PageCursor.decode(changes.nextCursor()));
+    }
+
+    @Test
+    void testChangesSince_CaughtUpClientMovesToTheSettleHorizon() {
+        stub(List.of(row(3L, T.plusSeconds(1))), List.of());
+        PageCursor since = new PageCursor(T, 1L);
+
+        ReferralChanges changes = referralChangesService.changesSince(7L, "Acme", new PageQuery(since, 50, false));
+
+        assertFalse(changes.hasMore());
+        PageCursor next = PageCursor.decode(changes.nextCursor());
+        assertTrue(next.createdAt().isAfter(T.plusSeconds(1)));
+        assertTrue(next.createdAt().isBefore(LocalDateTime.now().minusSeconds(4)));
+        verify(referralRequestRepository).findChangesByJobSeekerId(eq(7L), eq(T), eq(1L), any(), any());
+        verify(referralRequestRepository).findChangesByEmployeeId(eq(7L), eq(T), eq(1L), any(), any());
+        verify(referralRequestRepository).findChangesByCompanyKey(eq("acme"), eq(T), eq(1L), any(), any());
+    }
+
+    @Test
+    void testChangesSince_MergesScopesAndCountsSharedRequestsOnce() {
+        // 5 is the caller's claim at their own company, so both the employee and the company scope return it
+        when(referralRequestRepository.findChangesByJobSeekerId(any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row(3L, T.plusSeconds(3))));
+        when(referralRequestRepository.findChangesByEmployeeId(any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row(5L, T.plusSeconds(2))));
+        when(referralRequestRepository.findChangesByCompanyKey(any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row(1L, T.plusSeconds(1)), row(5L, T.plusSeconds(2)), row(6L, T.plusSeconds(4))));
+
+        ReferralChanges changes = referralChangesService.changesSince(7L, "Acme", new PageQuery(null, 3, false));
+
+        assertEquals(List.of(1L, 5L, 3L), changes.changed().stream().map(ReferralRequestDTO::getId).toList());
+        assertTrue(changes.hasMore());
+        assertEquals(new PageCursor(T.plusSeconds(3), 3L), PageCursor.decode(changes.nextCursor()));
+    }
+
+    @Test
+    void testChangesSince_ExpiredCursorStartsOverWithReset() {
+        stub(List.of(), List.of());
+        PageCursor since = new PageCursor(LocalDateTime.now().minusDays(31), 1L);
+
+        ReferralChanges changes = referralChangesService.changesSince(7L, null, new PageQuery(since, 50, false));
+
+        assertTrue(changes.reset());
+        verify(referralTombstoneRepository).findChangesByJobSeekerId(
+            eq(7L), eq(LocalDateTime.of(1970, 1, 1, 0, 0)), eq(0L), any(), any());
+        // Without a company there is no company scope to read
+        verify(referralRequestRepository, never()).findChangesByCompanyKey(any(), any(), any(), any(), any());
+    }
+}
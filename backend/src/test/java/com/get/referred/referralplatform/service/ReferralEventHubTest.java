@@ -0,0 +1,60 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.get.referred.referralplatform.dto.ReferralEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReferralEventHubTest {
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService sender;
+    private ReferralEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sender = Executors.newVirtualThreadPerTaskExecutor();
+        hub = new ReferralEventHub(Jackson2ObjectMapperBuilder.json().build(), meterRegistry, sender, 4, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdownNow();
+    }
+
+    private static ReferralEvent event(String companyKey) {
+        return new ReferralEvent(ReferralEvent.Type.CREATED, 1L, "PENDING", 7L, null, LocalDateTime.now(), companyKey);
+    }
+
+    @Test
+    void testSubscribe_RequiresCompany() {
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe("  "));
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void testSubscribe_GroupsDifferentlyFormattedCompanyNames() {
+        assertNotNull(hub.subscribe("Acme"));
+        assertNotNull(hub.subscribe(" ACME "));
+        assertNotNull(hub.subscribe("Globex"));
+        assertEquals(3, hub.subscriberCount());
+        assertEquals(3.0, meterRegistry.get("referral.events.subscribers").gauge().value());
+
+        hub.publish(event("acme"));
+        hub.publish(event("initech"));
+        hub.heartbeat();
+        assertEquals(0.0, meterRegistry.get("referral.events.dropped").counter().count());
+    }
+}
@@ -0,0 +1,152 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.get.referred.referralplatform.dto.ReferralImportResult;
+import com.get.referred.referralplatform.dto.ReferralImportResult.Outcome;
+import com.get.referred.referralplatform.exception.ConflictException;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+
+class ReferralImportServiceTest {
+    @Mock
+    private ReferralRequestRepository referralRequestRepository;
+    @Mock
+    private ReferralRequestService referralRequestService;
+    @Mock
+    private EmailNotificationService emailNotificationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private User jobSeeker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jobSeeker = new User();
+        jobSeeker.setId(7L);
+    }
+
+    private ReferralImportService service(int batchSize, int maxRows) {
+        return new ReferralImportService(referralRequestRepository, referralRequestService, emailNotificationService,
+            eventPublisher, Jackson2ObjectMapperBuilder.json().build(), transactionManager, batchSize, maxRows);
+    }
+
+    private List<List<ReferralImportResult>> importBody(ReferralImportService service, String contentType, String body)
+            throws IOException {
+        List<List<ReferralImportResult>> batches = new ArrayList<>();
+        ReferralImportRows rows = service.openRows(new StringReader(body), MediaType.parseMediaType(contentType));
+        service.importRows(jobSeeker, rows, batches::add);
+        return batches;
+    }
+
+    private static List<Outcome> outcomes(List<List<ReferralImportResult>> batches) {
+        return batches.stream().flatMap(List::stream).map(ReferralImportResult::outcome).toList();
+    }
+
+    @Test
+    void testImportRows_CreatesValidRowsAndReportsInvalidOnesInOrder() throws IOException {
+        String body = "{\"jobTitle\":\"Engineer\",\"companyName\":\"Acme\"}\n"
+            + "{\"companyName\":\"Globex\"}\n"
+            + "\n"
+            + "not json\n"
+            + "{\"jobTitle\":\"Designer\",\"companyName\":\"Initech\"}\n";
+
+        List<List<ReferralImportResult>> batches = importBody(service(100, 1000), "application/x-ndjson", body);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.INVALID, Outcome.INVALID, Outcome.CREATED), outcomes(batches));
+        assertEquals(List.of(1, 2, 3, 4), batches.get(0).stream().map(ReferralImportResult::row).toList());
+        verify(referralRequestRepository).findPendingKeys(7L, Set.of("acme", "initech"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReferralRequest>> saved = ArgumentCaptor.forClass(List.class);
+        verify(referralRequestRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        saved.getValue().forEach(request -> assertEquals(ReferralRequest.Status.PENDING, request.getStatus()));
+        verify(emailNotificationService).referralsImported(saved.getValue());
+    }
+
+    @Test
+    void testImportRows_ReportsDuplicatesAgainstDatabaseAndWithinBody() throws IOException {
+        when(referralRequestRepository.findPendingKeys(eq(7L), anyCollection())).thenReturn(List.of("initech"));
+        String body = "jobTitle,companyName\nEngineer,Acme\nEngineer, ACME \nEngineer,Initech\n";
+
+        List<List<ReferralImportResult>> batches = importBody(service(100, 1000), "text/csv", body);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.DUPLICATE, Outcome.DUPLICATE), outcomes(batches));
+        verify(referralRequestRepository).findPendingKeys(7L, Set.of("acme", "initech"));
+    }
+
+    @Test
+    void testImportRows_QueriesAndInsertsOncePerBatch() throws IOException {
+        StringBuilder body = new StringBuilder("jobTitle,companyName\n");
+        for (int i = 0; i < 5; i++) {
+            body.append("Engineer,Company ").append(i).append('\n');
+        }
+
+        List<List<ReferralImportResult>> batches = importBody(service(2, 1000), "text/csv", body.toString());
+
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        verify(referralRequestRepository, times(3)).findPendingKeys(eq(7L), anyCollection());
+        verify(referralRequestRepository, times(3)).saveAll(any());
+    }
+
+    @Test
+    void testImportRows_RetriesRowByRowWhenBatchLosesRace() throws IOException {
+        doThrow(new DataIntegrityViolationException("uk_referral_job_seeker_pending"))
+            .when(referralRequestRepository).flush();
+        when(referralRequestService.createReferralRequest(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0))
+            .thenThrow(new ConflictException("duplicate"));
+        String body = "jobTitle,companyName\nEngineer,Acme\nEngineer,Initech\n";
+
+        List<List<ReferralImportResult>> batches = importBody(service(100, 1000), "text/csv", body);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.DUPLICATE), outcomes(batches));
+        verify(referralRequestService, times(2)).createReferralRequest(any());
+    }
+
+    @Test
+    void testImportRows_StopsAfterMaxRows() throws IOException {
+        String body = "jobTitle,companyName\nEngineer,Acme\nEngineer,Globex\nEngineer,Initech\n";
+
+        List<List<ReferralImportResult>> batches = importBody(service(100, 2), "text/csv", body);
+
+        assertEquals(List.of(Outcome.CREATED, Outcome.CREATED, Outcome.ERROR), outcomes(batches));
+        assertNull(batches.get(batches.size() - 1).get(0).row());
+    }
+
+    @Test
+    void testOpenRows_RejectsUnsupportedContentType() {
+        assertThrows(IllegalArgumentException.class,
+            () -> service(100, 1000).openRows(new StringReader("{}"), MediaType.APPLICATION_JSON));
+    }
+}
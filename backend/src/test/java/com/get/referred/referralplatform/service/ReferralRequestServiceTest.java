@@ -0,0 +1,215 @@
+package com.get.referred.referralplatform.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.exception.ConflictException;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralTombstone;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReferralRequestServiceTest {
+    @Mock
+    private ReferralRequestRepository referralRequestRepository;
+    @Mock
+    private ReferralTombstoneRepository referralTombstoneRepository;
+    @Mock
+    private EmailNotificationService emailNotificationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReferralRequestService referralRequestService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static ReferralRequest newRequest(String companyName) {
+        User jobSeeker = new User();
+        jobSeeker.setId(7L);
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setJobTitle("Engineer");
+        request.setCompanyName(companyName);
+        return request;
+    }
+
+    @Test
+    void testCreateReferralRequest_SetsPendingKey() {
+        ReferralRequest request = newRequest(" Acme ");
+        when(referralRequestRepository.saveAndFlush(request)).thenReturn(request);
+        ReferralRequest created = referralRequestService.createReferralRequest(request);
+        assertEquals(ReferralRequest.Status.PENDING, created.getStatus());
+        assertEquals("acme", created.getPendingKey());
+        assertEquals(created.getCreatedAt(), created.getUpdatedAt());
+        verify(referralRequestRepository).existsByJobSeekerIdAndPendingKey(7L, "acme");
+        verify(emailNotificationService).referralCreated(created);
+    }
+
+    @Test
+    void testCreateReferralRequest_RejectsExistingPending() {
+        ReferralRequest request = newRequest("Acme");
+        when(referralRequestRepository.existsByJobSeekerIdAndPendingKey(7L, "acme")).thenReturn(true);
+        assertThrows(ConflictException.class, () -> referralRequestService.createReferralRequest(request));
+        verify(referralRequestRepository, never()).saveAndFlush(any());
+        verify(emailNotificationService, never()).referralCreated(any());
+    }
+
+    @Test
+    void testCreateReferralRequest_RejectsConcurrentDuplicate() {
+        ReferralRequest request = newRequest("Acme");
+        when(referralRequestRepository.saveAndFlush(request))
+            .thenThrow(new DataIntegrityViolationException("uk_referral_job_seeker_pending"));
+        assertThrows(ConflictException.class, () -> referralRequestService.createReferralRequest(request));
+    }
+
+    @Test
+    void testAcceptReferralRequest_ReturnsClaimedRequest() {
+        User employee = new User();
+        employee.setId(9L);
+        ReferralRequest claimed = newRequest("Acme");
+        claimed.setStatus(ReferralRequest.Status.ACCEPTED);
+        when(referralRequestRepository.claimIfPending(eq(1L), eq(employee), eq("acme"), eq(false),
+            eq(ReferralRequest.Status.PENDING), eq(ReferralRequest.Status.ACCEPTED), any())).thenReturn(1);
+        when(referralRequestRepository.findById(1L)).thenReturn(Optional.of(claimed));
+        assertSame(claimed, referralRequestService.acceptReferralRequest(1L, employee, "acme", false));
+        verify(emailNotificationService).referralAccepted(claimed);
+        ArgumentCaptor<ReferralEvent> event = ArgumentCaptor.forClass(ReferralEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ReferralEvent.Type.CLAIMED, event.getValue().type());
+        assertEquals("acme", event.getValue().companyKey());
+    }
+
+    @Test
+    void testAcceptReferralRequest_AlreadyClaimed() {
+        when(referralRequestRepository.claimIfPending(eq(1L), any(), any(), anyBoolean(), any(), any(), any())).thenReturn(0);
+        when(referralRequestRepository.findCompanyKeyById(1L)).thenReturn(Optional.of("acme"));
+        assertThrows(ConflictException.class, () -> referralRequestService.acceptReferralRequest(1L, new User(), "acme", false));
+        verify(referralRequestRepository, never()).findById(1L);
+    }
+
+    @Test
+    void testAcceptReferralRequest_NotFound() {
+        when(referralRequestRepository.claimIfPending(eq(1L), any(), any(), anyBoolean(), any(), any(), any())).thenReturn(0);
+        when(referralRequestRepository.findCompanyKeyById(1L)).thenReturn(Optional.empty());
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> referralRequestService.acceptReferralRequest(1L, new User(), "acme", false));
+        assertEquals("Referral request not found", e.getMessage());
+    }
+
+    @Test
+    void testAcceptReferralRequest_OtherCompanyLooksNotFound() {
+        when(referralRequestRepository.claimIfPending(eq(1L), any(), eq("globex"), eq(false), any(), any(), any())).thenReturn(0);
+        when(referralRequestRepository.findCompanyKeyById(1L)).thenReturn(Optional.of("acme"));
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> referralRequestService.acceptReferralRequest(1L, new User(), "globex", false));
+        assertFalse(e instanceof ConflictException);
+        assertEquals("Referral request not found", e.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testWithdrawReferralRequest_LeavesTombstone() {
+        ReferralRequest request = newRequest("Acme");
+        request.setStatus(ReferralRequest.Status.PENDING);
+        when(referralRequestRepository.findById(1L)).thenReturn(Optional.of(request));
+        when(referralRequestRepository.deleteIfStatus(1L, ReferralRequest.Status.PENDING)).thenReturn(1);
+
+        referralRequestService.withdrawReferralRequest(1L);
+
+        ArgumentCaptor<ReferralTombstone> tombstone = ArgumentCaptor.forClass(ReferralTombstone.class);
+        verify(referralTombstoneRepository).save(tombstone.capture());
+        assertEquals(7L, tombstone.getValue().getJobSeekerId());
+        assertEquals("acme", tombstone.getValue().getCompanyKey());
+    }
+
+    @Test
+    void testWithdrawReferralRequest_ClaimedInTheMeantime() {
+        ReferralRequest request = newRequest("Acme");
+        request.setStatus(ReferralRequest.Status.PENDING);
+        when(referralRequestRepository.findById(1L)).thenReturn(Optional.of(request));
+        when(referralRequestRepository.deleteIfStatus(1L, ReferralRequest.Status.PENDING)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> referralRequestService.withdrawReferralRequest(1L));
+        verify(referralTombstoneRepository, never()).save(any());
+    }
+
+    @Test
+    void testIsEmployee_UnclaimedRequestIsNotAnError() {
+        ReferralRequest request = newRequest("Acme");
+        when(referralRequestRepository.findById(1L)).thenReturn(Optional.of(request));
+        assertFalse(referralRequestService.isEmployee(1L, 7L));
+        assertTrue(referralRequestService.isUserInvolved(1L, 7L));
+    }
+
+    @Test
+    void testSecuredLookup_LoadsRequestOncePerHttpRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ReferralRequest request = newRequest("Acme");
+        when(referralRequestRepository.findById(1L)).thenReturn(Optional.of(request));
+
+        assertTrue(referralRequestService.isUserInvolved(1L, 7L));
+        assertSame(request, referralRequestService.getReferralRequestById(1L).orElseThrow());
+        verify(referralRequestRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testToDTOList_RecordsMappingTime() {
+        List<ReferralRequestDTO> dtos = referralRequestService.toDTOList(List.of(newRequest("Acme"), newRequest("Globex")));
+        assertEquals(2, dtos.size());
+        assertEquals(1, meterRegistry.get("referral.dto.mapping").tag("path", "entity").timer().count());
+    }
+
+    @Test
+    void testMappingTimers_ShareOneNameAndTagKeys() {
+        List<Set<String>> tagKeys = meterRegistry.get("referral.dto.mapping").timers().stream()
+            .map(timer -> timer.getId().getTags().stream().map(Tag::getKey).collect(Collectors.toSet()))
+            .toList();
+        assertEquals(List.of(Set.of("path"), Set.of("path")), tagKeys);
+    }
+}
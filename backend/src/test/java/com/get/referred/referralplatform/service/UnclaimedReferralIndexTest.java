@@ -0,0 +1,228 @@
+package com.get.referred.referralplatform.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.get.referred.referralplatform.dto.CursorPage;
+import com.get.referred.referralplatform.dto.PageCursor;
+import com.get.referred.referralplatform.dto.PageQuery;
+import com.get.referred.referralplatform.dto.ReferralEvent;
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.CompanyKey;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.ReferralTombstoneRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UnclaimedReferralIndexTest {
+    private static final LocalDateTime T = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private ReferralRequestRepository referralRequestRepository;
+    @Mock
+    private ReferralTombstoneRepository referralTombstoneRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UnclaimedReferralIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new UnclaimedReferralIndex(referralRequestRepository, referralTombstoneRepository, meterRegistry, true, 2);
+    }
+
+    private static ReferralRequestDTO row(Long id, String companyName, int minutes) {
+        return new ReferralRequestDTO(id, null, "Engineer", null, companyName, "PENDING", null,
+            T.plusMinutes(minutes), T.plusMinutes(minutes), 7L, null);
+    }
+
+    private static ReferralEvent event(ReferralEvent.Type type, Long id, String status, Long employeeId) {
+        return new ReferralEvent(type, id, status, 7L, employeeId, T, CompanyKey.of("Acme"));
+    }
+
+    private static ReferralRequestRepository.UnclaimedVersionView view(Long id, String companyName, int minutes) {
+        ReferralRequestRepository.UnclaimedVersionView view = mock(ReferralRequestRepository.UnclaimedVersionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCompanyKey()).thenReturn(CompanyKey.of(companyName));
+        when(view.getUpdatedAt()).thenReturn(T.plusMinutes(minutes));
+        return view;
+    }
+
+    private static ReferralRequestRepository.ChangedVersionView changed(Long id, int minutes, Status status, Long employeeId) {
+        ReferralRequestRepository.ChangedVersionView view = mock(ReferralRequestRepository.ChangedVersionView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getCompanyKey()).thenReturn(CompanyKey.of("Acme"));
+        when(view.getUpdatedAt()).thenReturn(T.plusMinutes(minutes));
+        when(view.getStatus()).thenReturn(status);
+        when(view.getEmployeeId()).thenReturn(employeeId);
+        return view;
+    }
+
+    private void changedSinceLastPass(List<ReferralRequestRepository.ChangedVersionView> versions) {
+        when(referralRequestRepository.findVersionsUpdatedSince(any())).thenReturn(versions);
+    }
+
+    private void warm(List<ReferralRequestDTO> firstBatch, List<ReferralRequestDTO> secondBatch) {
+        when(referralRequestRepository.findUnclaimedPage(eq(Status.PENDING), any(), any(), any()))
+            .thenReturn(firstBatch, secondBatch);
+        index.warm();
+    }
+
+    private List<Long> ids(CursorPage<ReferralRequestDTO> page) {
+        return page.items().stream().map(ReferralRequestDTO::getId).toList();
+    }
+
+    @Test
+    void testGetUnclaimed_PagesNewestFirstAfterWarming() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Other", 2)), List.of(row(1L, "acme ", 1)));
+
+        CursorPage<ReferralRequestDTO> first = index.getUnclaimedReferralRequests("ACME", new PageQuery(null, 1, false));
+        CursorPage<ReferralRequestDTO> second = index.getUnclaimedReferralRequests("Acme",
+            new PageQuery(PageCursor.decode(first.nextCursor()), 1, false));
+
+        assertEquals(List.of(3L), ids(first));
+        assertEquals(List.of(1L), ids(second));
+        assertNull(second.nextCursor());
+        verify(referralRequestRepository, never()).findUnclaimedPageByCompanyKey(any(), any(), any(), any(), any());
+        assertEquals(3.0, meterRegistry.get("referral.unclaimed.index.size").gauge().value());
+    }
+
+    @Test
+    void testGetUnclaimed_QueriesTheDatabaseUntilWarmed() {
+        when(referralRequestRepository.findUnclaimedPageByCompanyKey(eq(CompanyKey.of("Acme")), eq(Status.PENDING),
+                any(), any(), any())).thenReturn(List.of(row(5L, "Acme", 5)));
+
+        CursorPage<ReferralRequestDTO> page = index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false));
+
+        assertEquals(List.of(5L), ids(page));
+    }
+
+    @Test
+    void testOnReferralEvent_ClaimRemovesWithoutQuery() {
+        warm(List.of(row(3L, "Acme", 3)), List.of());
+
+        index.onReferralEvent(event(ReferralEvent.Type.CLAIMED, 3L, "ACCEPTED", 11L));
+
+        assertEquals(List.of(), ids(index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false))));
+        verify(referralRequestRepository, never()).findUnclaimedByIdIn(anyCollection(), any());
+    }
+
+    @Test
+    void testOnReferralEvent_CreatedRequestIsReadBack() {
+        warm(List.of(row(3L, "Acme", 3)), List.of());
+        when(referralRequestRepository.findUnclaimedByIdIn(List.of(8L), Status.PENDING))
+            .thenReturn(List.of(row(8L, "Acme", 8)));
+
+        index.onReferralEvent(event(ReferralEvent.Type.CREATED, 8L, "PENDING", null));
+
+        assertEquals(List.of(8L, 3L), ids(index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false))));
+    }
+
+    @Test
+    void testReconcile_RereadsOnlyRequestsChangedElsewhere() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Acme", 2)), List.of());
+        // 3 was edited on another node, 2 is unchanged, 5 was claimed before it ever reached the index
+        List<ReferralRequestRepository.ChangedVersionView> versions = List.of(changed(3L, 10, Status.PENDING, null),
+            changed(2L, 2, Status.PENDING, null), changed(5L, 5, Status.ACCEPTED, 11L));
+        changedSinceLastPass(versions);
+        ReferralRequestDTO edited = row(3L, "Acme", 3);
+        edited.setUpdatedAt(T.plusMinutes(10));
+        edited.setJobTitle("Staff Engineer");
+        when(referralRequestRepository.findUnclaimedByIdIn(List.of(3L), Status.PENDING)).thenReturn(List.of(edited));
+        when(referralRequestRepository.countUnclaimed(Status.PENDING)).thenReturn(2L);
+
+        index.reconcile();
+
+        List<ReferralRequestDTO> rows = index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false)).items();
+        assertEquals("Staff Engineer", rows.get(0).getJobTitle());
+        assertEquals(1.0, meterRegistry.get("referral.unclaimed.index.drift").counter().count());
+        verify(referralRequestRepository, never()).findUnclaimedVersions(any());
+    }
+
+    @Test
+    void testReconcile_DropsRequestsClaimedOrDeletedElsewhere() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Acme", 2)), List.of());
+        List<ReferralRequestRepository.ChangedVersionView> versions = List.of(changed(3L, 10, Status.ACCEPTED, 11L));
+        changedSinceLastPass(versions);
+        when(referralTombstoneRepository.findIdsDeletedSince(any())).thenReturn(List.of(2L, 9L));
+
+        index.reconcile();
+
+        assertEquals(List.of(), ids(index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false))));
+        assertEquals(2.0, meterRegistry.get("referral.unclaimed.index.drift").counter().count());
+        verify(referralRequestRepository, never()).findUnclaimedVersions(any());
+    }
+
+    @Test
+    void testReconcile_InSyncIndexReadsNothingBack() {
+        warm(List.of(row(3L, "Acme", 3)), List.of());
+        when(referralRequestRepository.countUnclaimed(Status.PENDING)).thenReturn(1L);
+
+        index.reconcile();
+
+        verify(referralRequestRepository, never()).findUnclaimedByIdIn(anyCollection(), any());
+        verify(referralRequestRepository, never()).findUnclaimedVersions(any());
+        assertEquals(0.0, meterRegistry.get("referral.unclaimed.index.drift").counter().count());
+    }
+
+    @Test
+    void testReconcile_RereadsChangedProfilesWithoutCountingDrift() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Acme", 2)), List.of());
+        // The job seeker of 2 renamed themselves
+        when(referralRequestRepository.findUnclaimedIdsByJobSeekerUpdatedSince(any(), eq(Status.PENDING)))
+            .thenReturn(List.of(2L));
+        ReferralRequestDTO renamed = row(2L, "Acme", 2);
+        renamed.setJobSeekerName("New Name");
+        when(referralRequestRepository.findUnclaimedByIdIn(List.of(2L), Status.PENDING)).thenReturn(List.of(renamed));
+        when(referralRequestRepository.countUnclaimed(Status.PENDING)).thenReturn(2L);
+
+        index.reconcile();
+
+        List<ReferralRequestDTO> rows = index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false)).items();
+        assertEquals("New Name", rows.get(1).getJobSeekerName());
+        assertEquals(0.0, meterRegistry.get("referral.unclaimed.index.drift").counter().count());
+    }
+
+    @Test
+    void testReconcile_ComparesTheWholeTableWhenTheCountDisagrees() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Acme", 2)), List.of());
+        // 3 was claimed without a trace in updated_at, 4 created the same way
+        when(referralRequestRepository.countUnclaimed(Status.PENDING)).thenReturn(3L);
+        List<ReferralRequestRepository.UnclaimedVersionView> versions = List.of(view(2L, "Acme", 2), view(4L, "Acme", 4));
+        when(referralRequestRepository.findUnclaimedVersions(Status.PENDING)).thenReturn(versions);
+        when(referralRequestRepository.findUnclaimedByIdIn(anyCollection(), eq(Status.PENDING)))
+            .thenReturn(List.of(row(4L, "Acme", 4)));
+
+        index.reconcile();
+
+        assertEquals(List.of(4L, 2L), ids(index.getUnclaimedReferralRequests("Acme", new PageQuery(null, 10, false))));
+        assertEquals(2.0, meterRegistry.get("referral.unclaimed.index.drift").counter().count());
+    }
+
+    @Test
+    void testRemove_DropsTheCompanyOnceEmpty() {
+        warm(List.of(row(3L, "Acme", 3), row(2L, "Other", 2)), List.of());
+        assertEquals(2, index.companyCount());
+
+        index.onReferralEvent(event(ReferralEvent.Type.CLAIMED, 3L, "ACCEPTED", 11L));
+
+        assertEquals(1, index.companyCount());
+    }
+}
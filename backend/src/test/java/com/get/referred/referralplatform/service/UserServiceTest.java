@@ -1,20 +1,30 @@
 package com.get.referred.referralplatform.service;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.get.referred.referralplatform.dto.UserProfileUpdateDTO;
 import com.get.referred.referralplatform.model.User;
 import com.get.referred.referralplatform.repository.UserRepository;
+import com.get.referred.referralplatform.security.AuthenticatedUser;
 import com.google.firebase.auth.FirebaseAuth;
 
 class UserServiceTest {
@@ -23,7 +33,11 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
-    private FirebaseAuth firebaseAuth;
+    private ObjectProvider<FirebaseAuth> firebaseAuth;
+    @Mock
+    private UserIdentityCache identityCache;
+    @Mock
+    private Executor backgroundExecutor;
 
     @InjectMocks
     private UserService userService;
@@ -49,4 +63,43 @@ class UserServiceTest {
         Optional<User> result = userService.findByFirebaseUid("notFound");
         assertFalse(result.isPresent());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testUpdateUserProfileByFirebaseUid_InvalidatesIdentityCache() {
+        User user = new User();
+        user.setFirebaseUid("testUid");
+        when(userRepository.findByFirebaseUid("testUid")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserProfileUpdateDTO dto = new UserProfileUpdateDTO();
+        dto.setCompanyName("Acme");
+        User result = userService.updateUserProfileByFirebaseUid("testUid", dto);
+        assertEquals("Acme", result.getCompanyName());
+        verify(identityCache).invalidate("testUid");
+    }
+
+    @Test
+    void testHasEmployeeAccess_RequiresCompanyOrAdmin() {
+        assertTrue(userService.hasEmployeeAccess(new AuthenticatedUser(1L, "uid", User.UserRole.USER, User.AuthProvider.GOOGLE, true, "Acme")));
+        assertTrue(userService.hasEmployeeAccess(new AuthenticatedUser(2L, "admin", User.UserRole.ADMIN, User.AuthProvider.GOOGLE, true, null)));
+        assertFalse(userService.hasEmployeeAccess(new AuthenticatedUser(3L, "seeker", User.UserRole.USER, User.AuthProvider.GOOGLE, true, " ")));
+        assertFalse(userService.hasEmployeeAccess(null));
+    }
+
+    @Test
+    void testDeleteByFirebaseUid_DeletesFromFirebaseInBackground() throws Exception {
+        User user = new User();
+        user.setFirebaseUid("testUid");
+        FirebaseAuth auth = mock(FirebaseAuth.class);
+        when(firebaseAuth.getIfAvailable()).thenReturn(auth);
+        when(userRepository.findByFirebaseUid("testUid")).thenReturn(Optional.of(user));
+
+        userService.deleteByFirebaseUid("testUid");
+        verify(userRepository).delete(user);
+        verify(auth, never()).deleteUser(anyString());
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(backgroundExecutor).execute(task.capture());
+        task.getValue().run();
+        verify(auth).deleteUser("testUid");
+    }
+}
@@ -0,0 +1,67 @@
+package com.get.referred.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.security.LocalTokenVerifier;
+import com.get.referred.referralplatform.security.SessionTokenService;
+import com.get.referred.referralplatform.service.AuthService;
+import com.get.referred.referralplatform.service.UserService;
+
+/**
+ * Sign-in of an existing Google user through {@link AuthService#authenticateUser}, with the local
+ * verifier and a stubbed user service, with and without minting a session token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthServiceBenchmark {
+    @Param({"false", "true"})
+    boolean sessionTokens;
+
+    private AuthService authService;
+    private String idToken;
+
+    @Setup
+    public void setUp() {
+        LocalTokenVerifier verifier = new LocalTokenVerifier("bench-project", 60, 0, 0, 0.0);
+        SessionTokenService sessionTokenService = new SessionTokenService(sessionTokens,
+            "k1:" + Base64.getEncoder().encodeToString(new byte[32]), "k1", 15);
+
+        User user = Fixtures.user(1L, "Acme");
+        UserService userService = mock(UserService.class);
+        when(userService.findByFirebaseUid(anyString())).thenReturn(Optional.of(user));
+        when(userService.save(any(User.class))).thenReturn(user);
+
+        authService = new AuthService(userService, verifier, sessionTokenService);
+        idToken = verifier.issue(user.getFirebaseUid(), user.getEmail(), true, "google.com");
+    }
+
+    @Benchmark
+    public Map<String, Object> authenticateUser() throws Exception {
+        return authService.authenticateUser(idToken);
+    }
+}
@@ -0,0 +1,90 @@
+package com.get.referred.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.get.referred.referralplatform.dto.ReferralRequestDTO;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.service.ReferralRequestService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Entity-to-DTO mapping versus building DTOs straight from projected columns, as the list queries do.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    @Param({"10", "1000", "100000"})
+    int rows;
+
+    private List<ReferralRequest> entities;
+    private List<Object[]> projectedRows;
+    private ReferralRequestService referralRequestService;
+
+    @Setup
+    public void setUp() {
+        entities = Fixtures.referralRequests(rows);
+        projectedRows = new ArrayList<>(rows);
+        for (ReferralRequest r : entities) {
+            projectedRows.add(new Object[] {
+                r.getId(), r.getJobId(), r.getJobTitle(), r.getJobLink(), r.getCompanyName(), r.getStatus(),
+                r.getRating(), r.getCreatedAt(), r.getUpdatedAt(),
+                r.getJobSeeker().getId(), r.getJobSeeker().getName(), r.getJobSeeker().getEmail(),
+                r.getJobSeeker().getLinkedinLink(), r.getJobSeeker().getCompanyName(),
+                r.getEmployee() != null ? r.getEmployee().getId() : null,
+                r.getEmployee() != null ? r.getEmployee().getName() : null,
+                r.getEmployee() != null ? r.getEmployee().getEmail() : null,
+                r.getEmployee() != null ? r.getEmployee().getLinkedinLink() : null,
+                r.getGithubUrl(), r.getResumeLink(), r.getLinkedinUrl()
+            });
+        }
+        referralRequestService = new ReferralRequestService(null, null, null, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<ReferralRequestDTO> fromEntityLoop() {
+        List<ReferralRequestDTO> dtos = new ArrayList<>(entities.size());
+        for (ReferralRequest request : entities) {
+            dtos.add(ReferralRequestDTO.fromEntity(request));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ReferralRequestDTO> toDTOList() {
+        return referralRequestService.toDTOList(entities);
+    }
+
+    @Benchmark
+    public List<ReferralRequestDTO> projectionConstructor() {
+        List<ReferralRequestDTO> dtos = new ArrayList<>(projectedRows.size());
+        for (Object[] c : projectedRows) {
+            dtos.add(new ReferralRequestDTO((Long) c[0], (String) c[1], (String) c[2], (String) c[3], (String) c[4],
+                (ReferralRequest.Status) c[5], (Integer) c[6], (LocalDateTime) c[7], (LocalDateTime) c[8],
+                (Long) c[9], (String) c[10], (String) c[11], (String) c[12], (String) c[13],
+                (Long) c[14], (String) c[15], (String) c[16], (String) c[17],
+                (String) c[18], (String) c[19], (String) c[20]));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,54 @@
+package com.get.referred.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.User;
+
+/**
+ * Synthetic entities shaped like production data: every request has a job seeker, most have an employee.
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static User user(long id, String companyName) {
+        User user = new User();
+        user.setId(id);
+        user.setFirebaseUid("uid-" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setName("User " + id);
+        user.setLinkedinLink("https://www.linkedin.com/in/user" + id);
+        user.setCompanyName(companyName);
+        user.setAuthProvider(User.AuthProvider.GOOGLE);
+        user.setEmailVerified(true);
+        user.setRole(User.UserRole.USER);
+        return user;
+    }
+
+    static List<ReferralRequest> referralRequests(int count) {
+        List<ReferralRequest> requests = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            ReferralRequest request = new ReferralRequest();
+            request.setJobSeeker(user(2L * i + 1, "Initech"));
+            if (i % 4 != 0) {
+                request.setEmployee(user(2L * i + 2, "Acme"));
+            }
+            request.setJobTitle("Software Engineer " + i);
+            request.setJobId("JOB-" + i);
+            request.setJobLink("https://jobs.example.com/" + i);
+            request.setCompanyName("Acme");
+            request.setGithubUrl("https://github.com/user" + i);
+            request.setResumeLink("https://example.com/resume/" + i + ".pdf");
+            request.setLinkedinUrl("https://www.linkedin.com/in/user" + i);
+            request.setStatus(i % 4 == 0 ? ReferralRequest.Status.PENDING : ReferralRequest.Status.ACCEPTED);
+            request.setCreatedAt(now.minusMinutes(i));
+            request.setUpdatedAt(now.minusMinutes(i));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,131 @@
+package com.get.referred.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.get.referred.referralplatform.ReferralPlatformApplication;
+import com.get.referred.referralplatform.model.ReferralRequest;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.repository.ReferralRequestRepository;
+import com.get.referred.referralplatform.repository.UserRepository;
+
+/**
+ * Many employees claiming the same referral request at once, through the conditional
+ * {@code claimIfPending} update against an in-memory H2 database in MySQL mode.
+ *
+ * All threads race for the current request; the winner publishes a fresh pending request and the
+ * race starts over, so the score is contended claim attempts per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ReferralClaimBenchmark {
+    private static final String[] APPLICATION_ARGS = {
+        "--spring.datasource.url=jdbc:h2:mem:claims;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--firebase.project-id=bench-project",
+        "--auth.token-verifier=local",
+        "--company-key.backfill.enabled=false",
+        "--referrals.changes.backfill-enabled=false",
+        "--logging.level.root=WARN",
+        "--logging.level.org.springframework.security=WARN"
+    };
+    private static final int EMPLOYEES = 16;
+
+    private ConfigurableApplicationContext context;
+    private ReferralRequestRepository referralRequestRepository;
+    private TransactionTemplate transactionTemplate;
+    private User jobSeeker;
+    private final List<User> employees = new ArrayList<>();
+    private final AtomicInteger nextEmployee = new AtomicInteger();
+    private volatile Long currentRequestId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReferralPlatformApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(APPLICATION_ARGS);
+        referralRequestRepository = context.getBean(ReferralRequestRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        jobSeeker = userRepository.save(newUser(0L, "Initech"));
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            employees.add(userRepository.save(newUser(i, "Acme")));
+        }
+        currentRequestId = newPendingRequest();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Employee {
+        User user;
+
+        @Setup(Level.Trial)
+        public void setUp(ReferralClaimBenchmark benchmark) {
+            user = benchmark.employees.get(benchmark.nextEmployee.getAndIncrement() % benchmark.employees.size());
+        }
+    }
+
+    private static User newUser(long n, String companyName) {
+        User user = Fixtures.user(n, companyName);
+        user.setId(null);
+        return user;
+    }
+
+    private Long newPendingRequest() {
+        ReferralRequest request = new ReferralRequest();
+        request.setJobSeeker(jobSeeker);
+        request.setJobTitle("Software Engineer");
+        request.setCompanyName("Acme");
+        request.setStatus(Status.PENDING);
+        return referralRequestRepository.save(request).getId();
+    }
+
+    @Benchmark
+    public int claim(Employee employee) {
+        Long id = currentRequestId;
+        Integer claimed = transactionTemplate.execute(status -> referralRequestRepository.claimIfPending(
+            id, employee.user, "acme", false, Status.PENDING, Status.ACCEPTED, LocalDateTime.now()));
+        if (claimed != null && claimed == 1) {
+            currentRequestId = newPendingRequest();
+        }
+        return claimed != null ? claimed : 0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.get.referred.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.get.referred.referralplatform.model.User;
+import com.get.referred.referralplatform.security.FirebaseTokenCache;
+import com.get.referred.referralplatform.security.FirebaseTokenFilter;
+import com.get.referred.referralplatform.security.LocalTokenVerifier;
+import com.get.referred.referralplatform.security.SessionTokenService;
+import com.get.referred.referralplatform.service.UserIdentityCache;
+import com.get.referred.referralplatform.service.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cost of authenticating one request in {@link FirebaseTokenFilter}, with the local RS256 verifier
+ * standing in for Firebase and the user service stubbed out (the identity cache is warm after the
+ * first call, so the database is never on the measured path).
+ *
+ * Scenarios: {@code firebase_cached} repeats one ID token, so the token cache answers;
+ * {@code firebase_verify} rotates through more tokens than the cache holds, so every call verifies
+ * the signature; {@code session} uses a locally signed HS256 session token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenFilterBenchmark {
+    private static final int ROTATING_TOKENS = 64;
+
+    @Param({"firebase_cached", "firebase_verify", "session"})
+    String scenario;
+
+    private FirebaseTokenFilter filter;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalTokenVerifier verifier = new LocalTokenVerifier("bench-project", 60, 0, 0, 0.0);
+        byte[] secret = new byte[32];
+        SessionTokenService sessionTokenService = new SessionTokenService(true,
+            "k1:" + Base64.getEncoder().encodeToString(secret), "k1", 15);
+
+        User user = Fixtures.user(1L, "Acme");
+        UserService userService = mock(UserService.class);
+        when(userService.findOrCreateUserByFirebaseId(anyString(), anyString(), anyBoolean())).thenReturn(user);
+        when(userService.findByFirebaseUid(anyString())).thenReturn(Optional.of(user));
+
+        int tokenCacheSize = "firebase_verify".equals(scenario) ? 1 : 10_000;
+        filter = new FirebaseTokenFilter(verifier, userService, new FirebaseTokenCache(meterRegistry, tokenCacheSize),
+            new UserIdentityCache(meterRegistry, 10_000, 300), sessionTokenService, meterRegistry);
+
+        // Distinct emails make every token distinct while keeping the same uid, so only the token cache misses
+        tokens = new String[ROTATING_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = "session".equals(scenario)
+                ? sessionTokenService.issue(user.getFirebaseUid(), user.getId(), user.getRole().name())
+                : verifier.issue(user.getFirebaseUid(), "user1+" + i + "@example.com", true, "google.com");
+        }
+    }
+
+    @Benchmark
+    public int authenticate() throws Exception {
+        String token = "firebase_cached".equals(scenario) ? tokens[0] : tokens[next++ % tokens.length];
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/referrals/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,201 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.get.referred.referralplatform.config.IdSequenceSeeder;
+import com.get.referred.referralplatform.model.CompanyKey;
+import com.get.referred.referralplatform.model.ReferralRequest.Status;
+
+/**
+ * Bulk-loads synthetic users and referral requests with plain JDBC batches; going through JPA would
+ * take longer than the test itself at ten million rows.
+ *
+ * Companies are Zipf-distributed, so a few of them hold most requests and most employees. Every
+ * job seeker gets the same number of requests (give or take one), spread over the configured
+ * history, and never more than one pending request per company.
+ */
+@Component
+class DataSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String INSERT_USER = "INSERT INTO users (id, firebase_uid, email, name, is_email_verified, "
+        + "auth_provider, role, created_at, updated_at, company_name, company_key) VALUES (?, ?, ?, ?, TRUE, "
+        + "'GOOGLE', 'USER', ?, ?, ?, ?)";
+    private static final String INSERT_ADMIN = "INSERT INTO users (id, firebase_uid, email, name, is_email_verified, "
+        + "auth_provider, role, created_at, updated_at) VALUES (?, ?, ?, ?, TRUE, 'GOOGLE', 'ADMIN', ?, ?)";
+    private static final String INSERT_REFERRAL = "INSERT INTO referral_requests (id, job_seeker_id, employee_id, "
+        + "job_title, job_id, company_name, company_key, pending_key, status, created_at, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdSequenceSeeder idSequenceSeeder;
+    private final long users;
+    private final long referrals;
+    private final int companies;
+    private final double companySkew;
+    private final double employeeRatio;
+    private final double pendingRatio;
+    private final int historyDays;
+    private final long seed;
+    private final int batchSize;
+
+    DataSeeder(JdbcTemplate jdbcTemplate, IdSequenceSeeder idSequenceSeeder,
+               @Value("${loadtest.users:100000}") long users,
+               @Value("${loadtest.referrals:1000000}") long referrals,
+               @Value("${loadtest.companies:500}") int companies,
+               @Value("${loadtest.company-skew:1.1}") double companySkew,
+               @Value("${loadtest.employee-ratio:0.1}") double employeeRatio,
+               @Value("${loadtest.pending-ratio:0.2}") double pendingRatio,
+               @Value("${loadtest.history-days:365}") int historyDays,
+               @Value("${loadtest.seed:42}") long seed,
+               @Value("${loadtest.seed-batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idSequenceSeeder = idSequenceSeeder;
+        this.users = users;
+        this.referrals = referrals;
+        this.companies = companies;
+        this.companySkew = companySkew;
+        this.employeeRatio = employeeRatio;
+        this.pendingRatio = pendingRatio;
+        this.historyDays = historyDays;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    Population seed() {
+        long employees = Math.max(1, Math.round(users * employeeRatio));
+        if (employees >= users) {
+            throw new IllegalArgumentException("loadtest.employee-ratio leaves no job seekers");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        ZipfDistribution companyDistribution = new ZipfDistribution(companies, companySkew);
+        String[] companyNames = new String[companies];
+        for (int i = 0; i < companies; i++) {
+            companyNames[i] = String.format(Locale.ROOT, "Company %04d", i + 1);
+        }
+        logger.info("Seeding {} users ({} employees) and {} referral requests over {} companies; "
+                + "the top 10 companies get {}% of requests",
+            users, employees, referrals, companies, Math.round(companyDistribution.headShare(10) * 100));
+
+        long started = System.nanoTime();
+        long[][] employeesByCompany = seedUsers(employees, companyNames, companyDistribution, random);
+        seedReferrals(employees, companyNames, employeesByCompany, companyDistribution, random);
+        // Rows were inserted with explicit ids; move the id sequences past them for the API's inserts
+        idSequenceSeeder.seed();
+        jdbcTemplate.execute("ANALYZE");
+        logger.info("Seeding finished in {}s", (System.nanoTime() - started) / 1_000_000_000L);
+
+        return new Population(users, employees, referrals, companyNames, employeesByCompany, companyDistribution);
+    }
+
+    private long[][] seedUsers(long employees, String[] companyNames, ZipfDistribution companyDistribution,
+                               SplittableRandom random) {
+        List<List<Long>> staff = new ArrayList<>(companyNames.length);
+        for (int i = 0; i < companyNames.length; i++) {
+            staff.add(new ArrayList<>());
+        }
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= users; id++) {
+            String companyName = null;
+            if (id <= employees) {
+                int company = companyDistribution.sample(random);
+                staff.get(company).add(id);
+                companyName = companyNames[company];
+            }
+            Timestamp createdAt = Timestamp.valueOf(randomPastTime(random));
+            batch.add(new Object[] {
+                id, Population.firebaseUid(id), "loadtest" + id + "@example.com", "Load Test User " + id,
+                createdAt, createdAt, companyName, CompanyKey.of(companyName)
+            });
+            if (batch.size() == batchSize) {
+                flush(INSERT_USER, batch, "users", id, users);
+            }
+        }
+        flush(INSERT_USER, batch, "users", users, users);
+        // The one caller allowed on the cross-company pending list
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_ADMIN, Population.adminId(users), Population.firebaseUid(Population.adminId(users)),
+            "loadtest-admin@example.com", "Load Test Admin", now, now);
+
+        long[][] employeesByCompany = new long[companyNames.length][];
+        for (int i = 0; i < companyNames.length; i++) {
+            employeesByCompany[i] = staff.get(i).stream().mapToLong(Long::longValue).toArray();
+        }
+        return employeesByCompany;
+    }
+
+    private void seedReferrals(long employees, String[] companyNames, long[][] employeesByCompany,
+                               ZipfDistribution companyDistribution, SplittableRandom random) {
+        long jobSeekers = users - employees;
+        long perJobSeeker = referrals / jobSeekers;
+        long remainder = referrals % jobSeekers;
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Set<Integer> pendingCompanies = new HashSet<>();
+        long id = 0;
+        for (long seeker = 0; seeker < jobSeekers; seeker++) {
+            long jobSeekerId = employees + 1 + seeker;
+            long count = perJobSeeker + (seeker < remainder ? 1 : 0);
+            pendingCompanies.clear();
+            for (long n = 0; n < count; n++) {
+                int company = companyDistribution.sample(random);
+                long[] staff = employeesByCompany[company];
+                Status status = randomStatus(random);
+                if (status == Status.PENDING && !pendingCompanies.add(company)) {
+                    status = Status.REJECTED;
+                }
+                Long employeeId = status == Status.PENDING || staff.length == 0
+                    ? null : staff[random.nextInt(staff.length)];
+                String companyKey = CompanyKey.of(companyNames[company]);
+                LocalDateTime createdAt = randomPastTime(random);
+                id++;
+                batch.add(new Object[] {
+                    id, jobSeekerId, employeeId, "Software Engineer " + (id % 50), "JOB-" + id,
+                    companyNames[company], companyKey, status == Status.PENDING ? companyKey : null,
+                    status.name(), Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(status == Status.PENDING ? createdAt : createdAt.plusDays(1))
+                });
+                if (batch.size() == batchSize) {
+                    flush(INSERT_REFERRAL, batch, "referral requests", id, referrals);
+                }
+            }
+        }
+        flush(INSERT_REFERRAL, batch, "referral requests", referrals, referrals);
+    }
+
+    private Status randomStatus(SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < pendingRatio) {
+            return Status.PENDING;
+        }
+        double rest = (roll - pendingRatio) / (1 - pendingRatio);
+        return rest < 0.5 ? Status.ACCEPTED : rest < 0.8 ? Status.REJECTED : Status.HIRED;
+    }
+
+    private LocalDateTime randomPastTime(SplittableRandom random) {
+        return LocalDateTime.now().minusSeconds(random.nextLong(historyDays * 86_400L));
+    }
+
+    private void flush(String sql, List<Object[]> batch, String what, long done, long total) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+        if (done % 1_000_000 < batchSize || done == total) {
+            logger.info("Inserted {}/{} {}", done, total, what);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every latency sample so percentiles are exact; one recorder per worker and endpoint, merged
+ * once the run is over.
+ */
+final class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static long[] merge(Iterable<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples, in milliseconds.
+     */
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.get.referred.benchmarks.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.get.referred.referralplatform.ReferralPlatformApplication;
+
+/**
+ * Boots the application with the {@code loadtest} profile (embedded H2 in MySQL mode, local token
+ * verifier), seeds it, runs the configured request mix against it and prints the report.
+ *
+ * Every setting in {@code application-loadtest.properties} can be overridden on the command line,
+ * e.g. {@code --loadtest.users=1000000 --loadtest.referrals=10000000 --spring.threads.virtual.enabled=true}.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                ReferralPlatformApplication.class, LoadTestConfiguration.class)
+                .profiles("loadtest")
+                .run(args)) {
+            context.getBean(LoadTestDriver.class).run().print(System.out);
+        }
+    }
+}
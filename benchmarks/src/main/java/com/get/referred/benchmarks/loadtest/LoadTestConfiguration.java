@@ -0,0 +1,27 @@
+package com.get.referred.benchmarks.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Harness beans added next to the application's own when it is started by {@link LoadTest}.
+ */
+@Configuration
+@ComponentScan
+class LoadTestConfiguration {
+
+    @Bean
+    SqlCountingFilter sqlCountingFilter() {
+        return new SqlCountingFilter();
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlCountingFilter> sqlCountingFilterRegistration(SqlCountingFilter sqlCountingFilter) {
+        FilterRegistrationBean<SqlCountingFilter> registration = new FilterRegistrationBean<>(sqlCountingFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,354 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.get.referred.referralplatform.security.LocalTokenVerifier;
+
+/**
+ * Seeds the database, then drives the running application over HTTP with a closed-loop client:
+ * each worker sends its next request as soon as the previous one returns. Only the measurement
+ * window after the warmup counts towards the report.
+ *
+ * Employees (for the received lists) are drawn with the same company skew as the requests; job
+ * seekers uniformly. The pending list spans every company, so it is read by the seeded admin. Tokens are minted with the local verifier up front, so signing
+ * never lands on the measured path.
+ */
+@Component
+class LoadTestDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    enum Operation {
+        RECEIVED("GET", "/api/referrals/received", Caller.EMPLOYEE),
+        PENDING("GET", "/api/referrals/pending", Caller.ADMIN),
+        MY_REQUESTS("GET", "/api/referrals/me", Caller.JOB_SEEKER),
+        CREATE("POST", "/api/referrals", Caller.JOB_SEEKER);
+
+        final String method;
+        final String path;
+        final Caller caller;
+
+        Operation(String method, String path, Caller caller) {
+            this.method = method;
+            this.path = path;
+            this.caller = caller;
+        }
+
+        String endpoint() {
+            return method + " " + path;
+        }
+    }
+
+    enum Caller {
+        EMPLOYEE, JOB_SEEKER, ADMIN
+    }
+
+    private static final Map<String, Operation> MIX_NAMES = Map.of(
+        "received", Operation.RECEIVED,
+        "pending", Operation.PENDING,
+        "me", Operation.MY_REQUESTS,
+        "create", Operation.CREATE);
+
+    private final DataSeeder dataSeeder;
+    private final LocalTokenVerifier localTokenVerifier;
+    private final SqlCountingFilter sqlCountingFilter;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final String mix;
+    private final int activeUsers;
+    private final int pageSize;
+    private final long seed;
+    private final String reportPath;
+    private final AtomicLong jobIds = new AtomicLong();
+
+    LoadTestDriver(DataSeeder dataSeeder, LocalTokenVerifier localTokenVerifier, SqlCountingFilter sqlCountingFilter,
+                   ObjectMapper objectMapper, Environment environment,
+                   @Value("${loadtest.concurrency:64}") int concurrency,
+                   @Value("${loadtest.warmup-seconds:15}") int warmupSeconds,
+                   @Value("${loadtest.duration-seconds:60}") int durationSeconds,
+                   @Value("${loadtest.mix:received=40,pending=20,me=30,create=10}") String mix,
+                   @Value("${loadtest.active-users:2000}") int activeUsers,
+                   @Value("${loadtest.page-size:50}") int pageSize,
+                   @Value("${loadtest.seed:42}") long seed,
+                   @Value("${loadtest.report:loadtest-report.json}") String reportPath) {
+        this.dataSeeder = dataSeeder;
+        this.localTokenVerifier = localTokenVerifier;
+        this.sqlCountingFilter = sqlCountingFilter;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.concurrency = concurrency;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.mix = mix;
+        this.activeUsers = activeUsers;
+        this.pageSize = pageSize;
+        this.seed = seed;
+        this.reportPath = reportPath;
+    }
+
+    LoadTestReport run() throws Exception {
+        Map<Operation, Integer> weights = parseMix(mix);
+        Population population = dataSeeder.seed();
+
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        Map<Long, String> tokens = new HashMap<>();
+        long[] employees = new long[activeUsers];
+        long[] jobSeekers = new long[activeUsers];
+        for (int i = 0; i < activeUsers; i++) {
+            employees[i] = population.sampleEmployee(random);
+            jobSeekers[i] = population.sampleJobSeeker(random);
+            tokens.computeIfAbsent(employees[i], this::issueToken);
+            tokens.computeIfAbsent(jobSeekers[i], this::issueToken);
+        }
+        tokens.put(population.adminId(), issueToken(population.adminId()));
+
+        URI baseUri = URI.create("http://localhost:" + environment.getRequiredProperty("local.server.port"));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        RunState state = new RunState();
+        List<Worker> workers = new ArrayList<>(concurrency);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(client, baseUri, state, weights, population, employees, jobSeekers, tokens,
+                random.split());
+            workers.add(worker);
+            executor.execute(worker);
+        }
+
+        logger.info("Warming up for {}s with {} workers", warmupSeconds, concurrency);
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        sqlCountingFilter.reset();
+        state.measuring = true;
+        long measureStart = System.nanoTime();
+        logger.info("Measuring for {}s", durationSeconds);
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        state.measuring = false;
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+        state.stopped = true;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        LoadTestReport report = buildReport(weights, workers, elapsedSeconds, population);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(reportPath).toFile(), report);
+        logger.info("Report written to {}", Path.of(reportPath).toAbsolutePath());
+        return report;
+    }
+
+    private String issueToken(long userId) {
+        String uid = Population.firebaseUid(userId);
+        return localTokenVerifier.issue(uid, "loadtest" + userId + "@example.com", true, "google.com");
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split("=");
+            Operation operation = nameAndWeight.length == 2 ? MIX_NAMES.get(nameAndWeight[0].trim()) : null;
+            if (operation == null) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry '" + part
+                    + "'; expected name=weight with name one of " + MIX_NAMES.keySet());
+            }
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weights");
+        }
+        return weights;
+    }
+
+    private LoadTestReport buildReport(Map<Operation, Integer> weights, List<Worker> workers, double elapsedSeconds,
+                                       Population population) {
+        Map<String, Double> statementsPerRequest = sqlCountingFilter.statementsPerRequest();
+        List<LoadTestReport.EndpointResult> endpoints = new ArrayList<>();
+        List<LatencyRecorder> allRecorders = new ArrayList<>();
+        Map<Integer, Long> allStatuses = new TreeMap<>();
+        long allErrors = 0;
+        for (Operation operation : weights.keySet()) {
+            List<LatencyRecorder> recorders = new ArrayList<>();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            long errors = 0;
+            for (Worker worker : workers) {
+                recorders.add(worker.latencies[operation.ordinal()]);
+                worker.statuses[operation.ordinal()].forEach((status, count) -> statuses.merge(status, count, Long::sum));
+                errors += worker.transportErrors[operation.ordinal()];
+            }
+            allRecorders.addAll(recorders);
+            statuses.forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+            allErrors += errors;
+            endpoints.add(result(operation.endpoint(), LatencyRecorder.merge(recorders), statuses, errors,
+                elapsedSeconds, statementsPerRequest.get(operation.endpoint())));
+        }
+        LoadTestReport.EndpointResult total = result("all", LatencyRecorder.merge(allRecorders), allStatuses,
+            allErrors, elapsedSeconds, null);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", population.users());
+        settings.put("employees", population.employees());
+        settings.put("referrals", population.referrals());
+        settings.put("companies", population.companyNames().length);
+        settings.put("concurrency", concurrency);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("mix", mix);
+        settings.put("activeUsers", activeUsers);
+        settings.put("pageSize", pageSize);
+        settings.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        settings.put("dbPoolSize", environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        return new LoadTestReport(settings, endpoints, total);
+    }
+
+    private static LoadTestReport.EndpointResult result(String endpoint, long[] sorted, Map<Integer, Long> statuses,
+                                                        long errors, double elapsedSeconds, Double statements) {
+        long sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        return new LoadTestReport.EndpointResult(endpoint, sorted.length, sorted.length / elapsedSeconds, statuses,
+            errors, LatencyRecorder.percentileMillis(sorted, 50), LatencyRecorder.percentileMillis(sorted, 90),
+            LatencyRecorder.percentileMillis(sorted, 99), LatencyRecorder.percentileMillis(sorted, 99.9),
+            LatencyRecorder.percentileMillis(sorted, 100),
+            sorted.length == 0 ? 0 : sum / (double) sorted.length / 1_000_000.0, statements);
+    }
+
+    private static final class RunState {
+        volatile boolean measuring;
+        volatile boolean stopped;
+    }
+
+    private final class Worker implements Runnable {
+        final LatencyRecorder[] latencies = new LatencyRecorder[Operation.values().length];
+        @SuppressWarnings("unchecked")
+        final Map<Integer, Long>[] statuses = new Map[Operation.values().length];
+        final long[] transportErrors = new long[Operation.values().length];
+
+        private final HttpClient client;
+        private final URI baseUri;
+        private final RunState state;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final Population population;
+        private final long[] employees;
+        private final long[] jobSeekers;
+        private final Map<Long, String> tokens;
+        private final SplittableRandom random;
+
+        Worker(HttpClient client, URI baseUri, RunState state, Map<Operation, Integer> weights, Population population,
+               long[] employees, long[] jobSeekers, Map<Long, String> tokens, SplittableRandom random) {
+            this.client = client;
+            this.baseUri = baseUri;
+            this.state = state;
+            this.population = population;
+            this.employees = employees;
+            this.jobSeekers = jobSeekers;
+            this.tokens = tokens;
+            this.random = random;
+            this.operations = weights.keySet().toArray(new Operation[0]);
+            this.cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LatencyRecorder();
+                statuses[i] = new TreeMap<>();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!state.stopped) {
+                Operation operation = nextOperation();
+                HttpRequest request;
+                try {
+                    request = buildRequest(operation);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                long started = System.nanoTime();
+                int status = -1;
+                try {
+                    status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (IOException e) {
+                    // Counted below as a transport error
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long elapsed = System.nanoTime() - started;
+                if (state.measuring) {
+                    int index = operation.ordinal();
+                    latencies[index].record(elapsed);
+                    if (status < 0) {
+                        transportErrors[index]++;
+                    } else {
+                        statuses[index].merge(status, 1L, Long::sum);
+                    }
+                }
+            }
+        }
+
+        private Operation nextOperation() {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < operations.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        private HttpRequest buildRequest(Operation operation) throws IOException {
+            long userId = switch (operation.caller) {
+                case EMPLOYEE -> employees[random.nextInt(employees.length)];
+                case JOB_SEEKER -> jobSeekers[random.nextInt(jobSeekers.length)];
+                case ADMIN -> population.adminId();
+            };
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .header("Authorization", "Bearer " + tokens.get(userId))
+                .timeout(Duration.ofSeconds(30));
+            if (operation == Operation.CREATE) {
+                String body = objectMapper.writeValueAsString(Map.of(
+                    "jobTitle", "Load Test Engineer",
+                    "jobId", "LT-" + jobIds.incrementAndGet(),
+                    "companyName", population.sampleCompany(random)));
+                return builder.uri(baseUri.resolve(operation.path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            }
+            return builder.uri(baseUri.resolve(operation.path + "?size=" + pageSize)).GET().build();
+        }
+    }
+}
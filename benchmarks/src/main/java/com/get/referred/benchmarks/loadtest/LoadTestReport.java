@@ -0,0 +1,40 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Outcome of one load-test run: the settings it ran with, then throughput, latency percentiles,
+ * status codes and SQL statements per request for every endpoint in the mix.
+ */
+record LoadTestReport(Map<String, Object> settings, List<EndpointResult> endpoints, EndpointResult total) {
+
+    record EndpointResult(String endpoint, long requests, double throughputPerSecond,
+                          Map<Integer, Long> statusCounts, long transportErrors,
+                          double p50Millis, double p90Millis, double p99Millis, double p999Millis,
+                          double maxMillis, double meanMillis, Double sqlStatementsPerRequest) {
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.println("Load test settings: " + settings);
+        out.printf(Locale.ROOT, "%-32s %9s %9s %8s %8s %8s %8s %8s %6s %s%n",
+            "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "sql/req", "status");
+        for (EndpointResult result : endpoints) {
+            print(out, result);
+        }
+        print(out, total);
+    }
+
+    private static void print(PrintStream out, EndpointResult result) {
+        String statements = result.sqlStatementsPerRequest() == null
+            ? "-" : String.format(Locale.ROOT, "%.1f", result.sqlStatementsPerRequest());
+        String statuses = result.statusCounts().toString()
+            + (result.transportErrors() > 0 ? " errors=" + result.transportErrors() : "");
+        out.printf(Locale.ROOT, "%-32s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %6s %s%n",
+            result.endpoint(), result.requests(), result.throughputPerSecond(), result.p50Millis(),
+            result.p90Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis(), statements, statuses);
+    }
+}
@@ -0,0 +1,46 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * What {@link DataSeeder} wrote: users {@code 1..employees} are employees spread over the companies
+ * by {@link #companies()}, the remaining users up to {@code users} are job seekers, and
+ * {@link #adminId()} follows them.
+ */
+record Population(long users, long employees, long referrals, String[] companyNames,
+                  long[][] employeesByCompany, ZipfDistribution companies) {
+
+    static String firebaseUid(long userId) {
+        return "loadtest-user-" + userId;
+    }
+
+    /** The admin seeded after the regular users. */
+    static long adminId(long users) {
+        return users + 1;
+    }
+
+    long adminId() {
+        return adminId(users);
+    }
+
+    String sampleCompany(RandomGenerator random) {
+        return companyNames[companies.sample(random)];
+    }
+
+    /**
+     * An employee of a company picked with the same skew as the requests, so large companies are
+     * also the busiest readers of their received lists.
+     */
+    long sampleEmployee(RandomGenerator random) {
+        while (true) {
+            long[] staff = employeesByCompany[companies.sample(random)];
+            if (staff.length > 0) {
+                return staff[random.nextInt(staff.length)];
+            }
+        }
+    }
+
+    long sampleJobSeeker(RandomGenerator random) {
+        return random.nextLong(employees + 1, users + 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Attributes the statements counted by {@link SqlStatementCounter} to the endpoint that issued them,
+ * keyed by method and mapped path pattern. Registered ahead of the security filters, so the user
+ * lookup during authentication is included.
+ */
+class SqlCountingFilter extends OncePerRequestFilter {
+    private final Map<String, EndpointCounts> counts = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+            EndpointCounts endpointCounts = counts.computeIfAbsent(endpoint, key -> new EndpointCounts());
+            endpointCounts.requests.increment();
+            endpointCounts.statements.add(statements);
+        }
+    }
+
+    void reset() {
+        counts.clear();
+    }
+
+    /**
+     * Average statements per request, by endpoint.
+     */
+    Map<String, Double> statementsPerRequest() {
+        Map<String, Double> averages = new TreeMap<>();
+        counts.forEach((endpoint, endpointCounts) -> {
+            long requests = endpointCounts.requests.sum();
+            averages.put(endpoint, requests == 0 ? 0 : (double) endpointCounts.statements.sum() / requests);
+        });
+        return averages;
+    }
+
+    private static final class EndpointCounts {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+    }
+}
@@ -0,0 +1,31 @@
+package com.get.referred.benchmarks.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and
+ * {@link #end()}. Registered through {@code hibernate.session_factory.statement_inspector}, which
+ * instantiates it by class name, hence the static state.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    static void begin() {
+        CURRENT.set(new long[1]);
+    }
+
+    static long end() {
+        long[] count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = CURRENT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,40 @@
+package com.get.referred.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf-distributed ranks in {@code [0, size)}: rank 0 is the most likely, and with an exponent
+ * around 1 a handful of ranks account for most samples.
+ */
+final class ZipfDistribution {
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Share of all samples that fall on the {@code ranks} most likely ranks.
+     */
+    double headShare(int ranks) {
+        return ranks <= 0 ? 0 : cumulative[Math.min(ranks, cumulative.length) - 1];
+    }
+}
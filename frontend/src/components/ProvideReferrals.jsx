@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import { useAuth } from '../contexts/AuthContext';
-import { API_URL } from '../config/api';
+import { API_URL, fetchPage } from '../config/api';
 import LoadingPlaceholder from './LoadingPlaceholder';
 import { ArrowPathIcon } from '@heroicons/react/24/outline';
 
@@ -9,20 +9,26 @@ export default function ProvideReferrals() {
   const { getBackendUser, currentUser } = useAuth();
   const backendUser = getBackendUser();
   const [referrals, setReferrals] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [showError, setShowError] = useState(true);
 
+  const requestConfig = () => ({
+    headers: {
+      Authorization: `Bearer ${currentUser?.accessToken || currentUser?.token}`,
+    },
+  });
+
+  // Reloads from the first page; further pages are fetched on demand by loadMore
   const fetchReferrals = async () => {
     setLoading(true);
     setError('');
     try {
-      const response = await axios.get(`${API_URL}/api/referrals/received`, {
-        headers: {
-          Authorization: `Bearer ${currentUser?.accessToken || currentUser?.token}`,
-        },
-      });
-      setReferrals(response.data.data || []);
+      const page = await fetchPage(`${API_URL}/api/referrals/received`, requestConfig());
+      setReferrals(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       setError('Failed to fetch referrals.');
     } finally {
@@ -30,6 +36,20 @@ export default function ProvideReferrals() {
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await fetchPage(`${API_URL}/api/referrals/received`, requestConfig(), nextCursor);
+      setReferrals(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError('Failed to fetch referrals.');
+      setShowError(true);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchReferrals();
     // eslint-disable-next-line
@@ -49,6 +69,24 @@ export default function ProvideReferrals() {
     }
   };
 
+  const handleAccept = async (id) => {
+    try {
+      await axios.put(`${API_URL}/api/referrals/${id}/accept`, null, {
+        headers: {
+          Authorization: `Bearer ${currentUser?.accessToken || currentUser?.token}`,
+        },
+      });
+      fetchReferrals();
+    } catch (err) {
+      // Refresh first: fetchReferrals clears the error banner
+      await fetchReferrals();
+      setError(err.response?.status === 409
+        ? 'This referral has already been accepted by someone else.'
+        : 'Failed to accept referral.');
+      setShowError(true);
+    }
+  };
+
   return (
     <div className="">
       <div className="flex items-center mb-10 gap-2">
@@ -96,7 +134,7 @@ export default function ProvideReferrals() {
               <div className="flex gap-2 mt-2">
                 <button
                   className="bg-green-600 hover:bg-green-700 text-white font-semibold py-1.5 px-4 rounded transition-colors duration-200 shadow"
-                  onClick={() => handleStatusUpdate(referral.id, 'ACCEPTED')}
+                  onClick={() => handleAccept(referral.id)}
                 >
                   Accept
                 </button>
@@ -111,6 +149,18 @@ export default function ProvideReferrals() {
           ))}
         </div>
       )}
+      {!loading && nextCursor && (
+        <div className="flex justify-center mt-6">
+          <button
+            type="button"
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="px-4 py-2 rounded border border-gray-300 text-gray-700 font-medium hover:bg-gray-50 disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
 import { useAuth } from '../contexts/AuthContext';
-import { API_URL } from '../config/api';
+import { API_URL, fetchPage } from '../config/api';
 import LoadingPlaceholder from './LoadingPlaceholder';
 
 const STATUS_OPTIONS = [
@@ -12,7 +12,9 @@ export default function ViewReferrals() {
   const { getBackendUser, currentUser } = useAuth();
   const backendUser = getBackendUser();
   const [referrals, setReferrals] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [statusFilter, setStatusFilter] = useState('ALL');
   const [error, setError] = useState(null);
   const [showError, setShowError] = useState(true);
@@ -25,30 +27,52 @@ export default function ViewReferrals() {
     }
   };
 
+  const listRequest = () => ({
+    url: statusFilter === 'ALL' ? `${API_URL}/api/referrals/me` : `${API_URL}/api/referrals/filter`,
+    config: {
+      params: statusFilter === 'ALL' ? {} : { status: statusFilter },
+      headers: {
+        Authorization: `Bearer ${currentUser?.accessToken || currentUser?.token}`,
+      },
+    },
+  });
+
+  // Only the first page is loaded up front; further pages are fetched on demand by loadMore
   useEffect(() => {
     const fetchData = async () => {
       setLoading(true);
       try {
-        let url = `${API_URL}/api/referrals/me`;
-        if (statusFilter !== 'ALL') {
-          url = `${API_URL}/api/referrals/filter?status=${statusFilter}`;
-        }
-        const response = await axios.get(url, {
-          headers: {
-            Authorization: `Bearer ${currentUser?.accessToken || currentUser?.token}`,
-          },
-        });
-        setReferrals(response.data.data || []);
+        const { url, config } = listRequest();
+        const page = await fetchPage(url, config);
+        setReferrals(page.items);
+        setNextCursor(page.nextCursor);
       } catch (error) {
         setError('Failed to fetch referrals.');
         setReferrals([]);
+        setNextCursor(null);
       } finally {
         setLoading(false);
       }
     };
     fetchData();
+    // eslint-disable-next-line
   }, [currentUser, statusFilter]);
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const { url, config } = listRequest();
+      const page = await fetchPage(url, config, nextCursor);
+      setReferrals(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      setError('Failed to fetch referrals.');
+      setShowError(true);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Always show header and filter; only grid area is replaced by skeleton
   return (
     <div className="">
@@ -232,6 +256,18 @@ export default function ViewReferrals() {
           })}
         </div>
       )}
+      {!loading && nextCursor && (
+        <div className="flex justify-center mt-6">
+          <button
+            type="button"
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="px-4 py-2 rounded border border-gray-300 text-gray-700 font-medium hover:bg-gray-50 disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   );
 }
@@ -1,2 +1,13 @@
+import axios from 'axios';
+
 // API URL configuration
-export const API_URL = import.meta.env.VITE_API_URL;
\ No newline at end of file
+export const API_URL = import.meta.env.VITE_API_URL;
+
+// Fetches one page of a cursor-paginated list endpoint; pass the previous `nextCursor` to get the next one.
+export async function fetchPage(url, config = {}, cursor = null) {
+  const response = await axios.get(url, {
+    ...config,
+    params: { ...(config.params || {}), ...(cursor ? { cursor } : {}) },
+  });
+  return { items: response.data.data || [], nextCursor: response.data.nextCursor || null };
+}